@@ -0,0 +1,42 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package com.googlesource.gerrit.plugins.manager;
+
+import com.google.gerrit.extensions.restapi.RestResource;
+import com.google.gerrit.extensions.restapi.RestView;
+import com.google.inject.TypeLiteral;
+import com.googlesource.gerrit.plugins.manager.repository.PluginInfo;
+
+/** Plugin of the list of available plugins, served at {@code available/<name>}. */
+public class AvailablePluginResource implements RestResource {
+  public static final TypeLiteral<RestView<AvailablePluginResource>> AVAILABLE_PLUGIN_KIND =
+      new TypeLiteral<>() {};
+
+  private final PluginInfo plugin;
+  private final String source;
+
+  AvailablePluginResource(PluginInfo plugin, String source) {
+    this.plugin = plugin;
+    this.source = source;
+  }
+
+  public PluginInfo getPlugin() {
+    return plugin;
+  }
+
+  /** Name of the repository the plugin is available from. */
+  public String getSource() {
+    return source;
+  }
+}
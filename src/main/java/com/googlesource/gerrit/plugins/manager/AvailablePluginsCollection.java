@@ -20,23 +20,30 @@ import com.google.gerrit.extensions.restapi.ResourceNotFoundException;
 import com.google.gerrit.extensions.restapi.RestCollection;
 import com.google.gerrit.extensions.restapi.RestView;
 import com.google.gerrit.extensions.restapi.TopLevelResource;
-import com.google.gerrit.server.plugins.PluginResource;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.google.inject.Singleton;
+import com.googlesource.gerrit.plugins.manager.repository.PluginInfo;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
 
 @Singleton
 public class AvailablePluginsCollection
-    implements RestCollection<TopLevelResource, PluginResource> {
+    implements RestCollection<TopLevelResource, AvailablePluginResource> {
 
-  private final DynamicMap<RestView<PluginResource>> views;
+  private final DynamicMap<RestView<AvailablePluginResource>> views;
   private final Provider<ListAvailablePlugins> list;
+  private final PluginsCentralCache pluginsCache;
 
   @Inject
   AvailablePluginsCollection(
-      DynamicMap<RestView<PluginResource>> views, Provider<ListAvailablePlugins> list) {
+      DynamicMap<RestView<AvailablePluginResource>> views,
+      Provider<ListAvailablePlugins> list,
+      PluginsCentralCache pluginsCache) {
     this.views = views;
     this.list = list;
+    this.pluginsCache = pluginsCache;
   }
 
   @Override
@@ -45,13 +52,25 @@ public class AvailablePluginsCollection
   }
 
   @Override
-  public PluginResource parse(TopLevelResource parent, IdString id)
-      throws ResourceNotFoundException {
-    throw new ResourceNotFoundException(id);
+  public AvailablePluginResource parse(TopLevelResource parent, IdString id)
+      throws ResourceNotFoundException, IOException {
+    CatalogSnapshot snapshot;
+    try {
+      snapshot = pluginsCache.snapshot();
+    } catch (ExecutionException e) {
+      throw new IOException("Unable to list the available plugins", e);
+    }
+    String name = id.get();
+    Optional<PluginInfo> plugin = snapshot.get(name);
+    Optional<String> source = snapshot.sourceOf(name);
+    if (plugin.isEmpty() || source.isEmpty()) {
+      throw new ResourceNotFoundException(id);
+    }
+    return new AvailablePluginResource(plugin.get(), source.get());
   }
 
   @Override
-  public DynamicMap<RestView<PluginResource>> views() {
+  public DynamicMap<RestView<AvailablePluginResource>> views() {
     return views;
   }
 }
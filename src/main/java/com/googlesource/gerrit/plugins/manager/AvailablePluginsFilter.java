@@ -0,0 +1,199 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.manager;
+
+import com.google.common.primitives.Ints;
+import com.google.gerrit.common.Nullable;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Serves the list of available plugins from its pre-rendered JSON, without serializing it again
+ * for every request, and answers {@code 304 Not Modified} to the requests already having it.
+ *
+ * <p>The pages of the list requested with the {@code n} and {@code S} options are tagged the same
+ * way, and rendered once per snapshot of the list, on their first request. The requests with other
+ * options, or from users not allowed to view the plugins, are passed on to the REST API.
+ */
+@Singleton
+public class AvailablePluginsFilter implements Filter {
+  private final PluginsCentralCache pluginsCache;
+  private final PluginManagerConfig config;
+
+  private volatile RenderedCatalog rendered;
+
+  @Inject
+  AvailablePluginsFilter(PluginsCentralCache pluginsCache, PluginManagerConfig config) {
+    this.pluginsCache = pluginsCache;
+    this.config = config;
+  }
+
+  @Override
+  public void init(FilterConfig filterConfig) throws ServletException {}
+
+  @Override
+  public void destroy() {}
+
+  @Override
+  public void doFilter(ServletRequest req, ServletResponse resp, FilterChain chain)
+      throws IOException, ServletException {
+    HttpServletRequest httpReq = (HttpServletRequest) req;
+    HttpServletResponse httpResp = (HttpServletResponse) resp;
+    if (!"GET".equals(httpReq.getMethod()) || !config.canViewPlugins()) {
+      chain.doFilter(req, resp);
+      return;
+    }
+
+    RenderedCatalog catalog;
+    try {
+      catalog = select(render(pluginsCache.snapshot()), httpReq.getParameterMap());
+    } catch (ExecutionException e) {
+      // Let the REST API report the failure
+      chain.doFilter(req, resp);
+      return;
+    }
+    if (catalog == null) {
+      chain.doFilter(req, resp);
+      return;
+    }
+
+    serve(catalog, httpReq, httpResp);
+  }
+
+  /**
+   * Returns the catalog, or its page requested with the {@code n} and {@code S} options, or null
+   * if the request has other options.
+   */
+  @Nullable
+  static RenderedCatalog select(RenderedCatalog catalog, Map<String, String[]> parameters) {
+    int limit = 0;
+    int start = 0;
+    for (Map.Entry<String, String[]> parameter : parameters.entrySet()) {
+      String[] values = parameter.getValue();
+      Integer value = values.length == 1 ? Ints.tryParse(values[0]) : null;
+      if (value == null || value < 0) {
+        // Let the REST API report the invalid options
+        return null;
+      }
+      switch (parameter.getKey()) {
+        case "n":
+          limit = value;
+          break;
+        case "S":
+          start = value;
+          break;
+        default:
+          return null;
+      }
+    }
+    return limit == 0 && start == 0 ? catalog : catalog.page(start, limit);
+  }
+
+  /**
+   * Answers with the rendered catalog, compressed if the client accepts it, or with {@code 304 Not
+   * Modified} if the client already has it.
+   */
+  static void serve(RenderedCatalog catalog, HttpServletRequest req, HttpServletResponse resp)
+      throws IOException {
+    resp.setHeader("Cache-Control", "private, max-age=0, must-revalidate");
+    resp.setHeader("Vary", "Accept-Encoding");
+    String ifNoneMatch = req.getHeader("If-None-Match");
+    if (ifNoneMatch != null && catalog.matches(ifNoneMatch)) {
+      resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+      return;
+    }
+
+    byte[] body;
+    if (acceptsGzip(req.getHeader("Accept-Encoding"))) {
+      resp.setHeader("Content-Encoding", "gzip");
+      resp.setHeader("ETag", catalog.gzipEtag);
+      body = catalog.gzip;
+    } else {
+      resp.setHeader("ETag", catalog.etag);
+      body = catalog.json;
+    }
+    resp.setStatus(HttpServletResponse.SC_OK);
+    resp.setContentType("application/json");
+    resp.setCharacterEncoding("UTF-8");
+    resp.setHeader("X-Content-Type-Options", "nosniff");
+    resp.setContentLength(body.length);
+    try (ServletOutputStream out = resp.getOutputStream()) {
+      out.write(body);
+    }
+  }
+
+  /**
+   * Whether the Accept-Encoding header accepts gzip, explicitly or through {@code *}, with a
+   * quality above 0.
+   */
+  static boolean acceptsGzip(@Nullable String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    Double gzip = null;
+    Double any = null;
+    for (String coding : acceptEncoding.split(",")) {
+      String[] params = coding.split(";");
+      String name = params[0].trim().toLowerCase(Locale.US);
+      double quality = 1;
+      for (int i = 1; i < params.length; i++) {
+        String param = params[i].trim().toLowerCase(Locale.US);
+        if (param.startsWith("q=")) {
+          quality = parseQuality(param.substring(2).trim());
+        }
+      }
+      if (name.equals("gzip") || name.equals("x-gzip")) {
+        gzip = quality;
+      } else if (name.equals("*")) {
+        any = quality;
+      }
+    }
+    if (gzip != null) {
+      return gzip > 0;
+    }
+    return any != null && any > 0;
+  }
+
+  private static double parseQuality(String quality) {
+    try {
+      return Double.parseDouble(quality);
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+  }
+
+  private RenderedCatalog render(CatalogSnapshot snapshot) {
+    RenderedCatalog current = rendered;
+    if (current != null && current.snapshot == snapshot) {
+      return current;
+    }
+    RenderedCatalog updated = RenderedCatalog.render(snapshot);
+    rendered = updated;
+    return updated;
+  }
+}
@@ -0,0 +1,193 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.manager;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+
+import com.google.common.base.CharMatcher;
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import com.googlesource.gerrit.plugins.manager.repository.PluginInfo;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeMap;
+
+/**
+ * Search index of the plugins of a catalog snapshot, on their name, description and version.
+ *
+ * <p>Every term of a query matches the tokens it is a prefix of, looked up in the sorted dictionary
+ * of the tokens, and the tokens within a small edit distance of it, for tolerating typos. The
+ * plugins matching all the terms are ranked by where the terms matched, their name first.
+ */
+class CatalogIndex {
+  private static final Splitter TOKENIZER =
+      Splitter.on(CharMatcher.javaLetterOrDigit().negate()).omitEmptyStrings();
+
+  private static final int MIN_FUZZY_LENGTH = 4;
+  private static final int MIN_TWO_TYPOS_LENGTH = 8;
+
+  private static final int EXACT_NAME_SCORE = 8;
+  private static final int PREFIX_NAME_SCORE = 4;
+  private static final int EXACT_SCORE = 2;
+  private static final int PREFIX_SCORE = 1;
+
+  /** Plugins having the token, in any field or in their name only. */
+  private static class Postings {
+    final BitSet any = new BitSet();
+    final BitSet name = new BitSet();
+  }
+
+  private final ImmutableList<PluginInfo> plugins;
+  private final String[] tokens;
+  private final Postings[] postings;
+
+  CatalogIndex(Collection<PluginInfo> plugins) {
+    this.plugins = ImmutableList.copyOf(plugins);
+    TreeMap<String, Postings> dictionary = new TreeMap<>();
+    for (int i = 0; i < this.plugins.size(); i++) {
+      PluginInfo plugin = this.plugins.get(i);
+      for (String token : tokenize(plugin.name)) {
+        Postings tokenPostings = dictionary.computeIfAbsent(token, t -> new Postings());
+        tokenPostings.any.set(i);
+        tokenPostings.name.set(i);
+      }
+      for (String field : Arrays.asList(plugin.description, plugin.version)) {
+        for (String token : tokenize(field)) {
+          dictionary.computeIfAbsent(token, t -> new Postings()).any.set(i);
+        }
+      }
+    }
+    this.tokens = dictionary.keySet().toArray(new String[0]);
+    this.postings = dictionary.values().toArray(new Postings[0]);
+  }
+
+  /** Returns the plugins matching all the terms of the query, the most relevant first. */
+  ImmutableList<PluginInfo> search(String query) {
+    List<String> terms = tokenize(query);
+    if (terms.isEmpty()) {
+      return plugins;
+    }
+
+    BitSet matches = null;
+    int[] scores = new int[plugins.size()];
+    for (String term : terms) {
+      BitSet termMatches = new BitSet();
+      int[] termScores = new int[plugins.size()];
+      int from = lowerBound(term);
+      for (int t = from; t < tokens.length && tokens[t].startsWith(term); t++) {
+        score(postings[t], tokens[t].length() == term.length(), termScores);
+        termMatches.or(postings[t].any);
+      }
+      if (term.length() >= MIN_FUZZY_LENGTH) {
+        int maxTypos = term.length() >= MIN_TWO_TYPOS_LENGTH ? 2 : 1;
+        for (int t = 0; t < tokens.length; t++) {
+          if (!tokens[t].startsWith(term) && isWithinDistance(term, tokens[t], maxTypos)) {
+            termMatches.or(postings[t].any);
+          }
+        }
+      }
+
+      termMatches.stream().forEach(i -> scores[i] += termScores[i]);
+
+      if (matches == null) {
+        matches = termMatches;
+      } else {
+        matches.and(termMatches);
+      }
+      if (matches.isEmpty()) {
+        return ImmutableList.of();
+      }
+    }
+
+    // The plugins are sorted by name, which breaks the ties between equal scores.
+    return matches.stream()
+        .boxed()
+        .sorted(Comparator.comparingInt((Integer i) -> -scores[i]).thenComparingInt(i -> i))
+        .map(plugins::get)
+        .collect(toImmutableList());
+  }
+
+  /** Keeps the best score of the plugins having the token, for the current term. */
+  private static void score(Postings tokenPostings, boolean exact, int[] scores) {
+    int nameScore = exact ? EXACT_NAME_SCORE : PREFIX_NAME_SCORE;
+    int otherScore = exact ? EXACT_SCORE : PREFIX_SCORE;
+    tokenPostings.any.stream()
+        .forEach(
+            i ->
+                scores[i] =
+                    Math.max(scores[i], tokenPostings.name.get(i) ? nameScore : otherScore));
+  }
+
+  /** Index of the first token not lower than the term, which is the first token it prefixes. */
+  private int lowerBound(String term) {
+    int index = Arrays.binarySearch(tokens, term);
+    return index >= 0 ? index : -index - 1;
+  }
+
+  /**
+   * Whether the optimal string alignment distance between the term and the token, counting
+   * insertions, deletions, substitutions and transpositions of adjacent characters, is within
+   * the maximum.
+   */
+  static boolean isWithinDistance(String term, String token, int max) {
+    int n = term.length();
+    int m = token.length();
+    if (Math.abs(n - m) > max) {
+      return false;
+    }
+
+    int[] previous2 = new int[m + 1];
+    int[] previous = new int[m + 1];
+    int[] current = new int[m + 1];
+    for (int j = 0; j <= m; j++) {
+      previous[j] = j;
+    }
+    for (int i = 1; i <= n; i++) {
+      current[0] = i;
+      int rowMin = i;
+      for (int j = 1; j <= m; j++) {
+        int cost = term.charAt(i - 1) == token.charAt(j - 1) ? 0 : 1;
+        current[j] =
+            Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+        if (i > 1
+            && j > 1
+            && term.charAt(i - 1) == token.charAt(j - 2)
+            && term.charAt(i - 2) == token.charAt(j - 1)) {
+          current[j] = Math.min(current[j], previous2[j - 2] + 1);
+        }
+        rowMin = Math.min(rowMin, current[j]);
+      }
+      if (rowMin > max) {
+        return false;
+      }
+      int[] recycled = previous2;
+      previous2 = previous;
+      previous = current;
+      current = recycled;
+    }
+    return previous[m] <= max;
+  }
+
+  private static List<String> tokenize(String text) {
+    if (text == null) {
+      return ImmutableList.of();
+    }
+    return TOKENIZER.splitToList(text.toLowerCase(Locale.US));
+  }
+}
@@ -0,0 +1,147 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.manager;
+
+import com.google.gerrit.metrics.CallbackMetric1;
+import com.google.gerrit.metrics.Counter1;
+import com.google.gerrit.metrics.Description;
+import com.google.gerrit.metrics.Description.Units;
+import com.google.gerrit.metrics.Field;
+import com.google.gerrit.metrics.MetricMaker;
+import com.google.gerrit.metrics.Timer1;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Supplier;
+
+/** Metrics of the loading and caching of the plugins of every repository. */
+@Singleton
+class CatalogMetrics {
+  private final MetricMaker metricMaker;
+  private final Field<String> repositoryField;
+  private final Timer1<String> loadLatency;
+  private final Counter1<String> loadFailures;
+  private final Counter1<String> cacheHits;
+  private final Counter1<String> cacheMisses;
+  private final RepositoryLoadTracker loadTracker;
+
+  @Inject
+  CatalogMetrics(MetricMaker metricMaker, RepositoryLoadTracker loadTracker) {
+    this.metricMaker = metricMaker;
+    this.loadTracker = loadTracker;
+    this.repositoryField =
+        Field.ofString("repository", (metadataBuilder, fieldValue) -> {})
+            .description("Name of the plugins repository")
+            .build();
+
+    this.loadLatency =
+        metricMaker.newTimer(
+            "catalog/load_latency",
+            new Description("Time for loading the plugins of the repository")
+                .setCumulative()
+                .setUnit(Units.MILLISECONDS),
+            repositoryField);
+    this.loadFailures =
+        metricMaker.newCounter(
+            "catalog/load_failures",
+            new Description("Failed loads of the plugins of the repository").setRate(),
+            repositoryField);
+    this.cacheHits =
+        metricMaker.newCounter(
+            "catalog/plugins_list_hits",
+            new Description("Plugins of the repository found in the plugins_list cache")
+                .setRate(),
+            repositoryField);
+    this.cacheMisses =
+        metricMaker.newCounter(
+            "catalog/plugins_list_misses",
+            new Description("Plugins of the repository missing from the plugins_list cache")
+                .setRate(),
+            repositoryField);
+  }
+
+  void recordLoad(String repository, Duration elapsed) {
+    loadLatency.record(repository, elapsed);
+  }
+
+  void recordLoadFailure(String repository, Duration elapsed) {
+    loadLatency.record(repository, elapsed);
+    loadFailures.increment(repository);
+  }
+
+  void recordCacheLookup(String repository, boolean hit) {
+    if (hit) {
+      cacheHits.increment(repository);
+    } else {
+      cacheMisses.increment(repository);
+    }
+  }
+
+  /**
+   * Exports the number of plugins of every repository in the current snapshot, the age of the
+   * snapshot and the age of the plugins of the repositories loaded since the plugin start.
+   */
+  void registerSnapshot(Supplier<CatalogSnapshot> snapshot) {
+    metricMaker.newCallbackMetric(
+        "catalog/snapshot_age",
+        Long.class,
+        new Description("Time since the list of available plugins was last merged")
+            .setGauge()
+            .setUnit(Units.SECONDS),
+        () ->
+            snapshot
+                .get()
+                .merged()
+                .map(merged -> Duration.between(merged, Instant.now()).getSeconds())
+                .orElse(0L));
+    CallbackMetric1<String, Integer> plugins =
+        metricMaker.newCallbackMetric(
+            "catalog/plugins",
+            Integer.class,
+            new Description("Plugins of the repository in the list of available plugins")
+                .setGauge(),
+            repositoryField);
+    CallbackMetric1<String, Long> age =
+        metricMaker.newCallbackMetric(
+            "catalog/age",
+            Long.class,
+            new Description("Time since the plugins of the repository were last loaded")
+                .setGauge()
+                .setUnit(Units.SECONDS),
+            repositoryField);
+
+    metricMaker.newTrigger(
+        plugins,
+        () -> {
+          snapshot.get().sourceSizes().forEach(plugins::set);
+          plugins.prune();
+        });
+    metricMaker.newTrigger(
+        age,
+        () -> {
+          Instant now = Instant.now();
+          loadTracker
+              .statuses()
+              .forEach(
+                  (repository, status) -> {
+                    if (status.lastSuccess != null) {
+                      age.set(repository, Duration.between(status.lastSuccess, now).getSeconds());
+                    }
+                  });
+          age.prune();
+        });
+  }
+}
@@ -0,0 +1,53 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.manager;
+
+import com.google.gerrit.extensions.annotations.PluginName;
+import com.google.gerrit.extensions.events.LifecycleListener;
+import com.google.gerrit.server.git.WorkQueue;
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.google.inject.Singleton;
+import java.util.concurrent.ScheduledExecutorService;
+
+@Singleton
+public class CatalogRefreshExecutorProvider
+    implements Provider<ScheduledExecutorService>, LifecycleListener {
+  // Enough for loading every repository concurrently while others are refreshed, so that a slow
+  // repository never delays the loading of the others. The refreshes run in the background, with
+  // a low priority for not competing with the threads serving the users.
+  private static final int THREADS = 4;
+
+  private final ScheduledExecutorService executor;
+
+  @Inject
+  CatalogRefreshExecutorProvider(WorkQueue workQueue, @PluginName String pluginName) {
+    this.executor =
+        workQueue.createQueue(THREADS, pluginName + "-catalog-refresh", Thread.MIN_PRIORITY, false);
+  }
+
+  @Override
+  public ScheduledExecutorService get() {
+    return executor;
+  }
+
+  @Override
+  public void start() {}
+
+  @Override
+  public void stop() {
+    executor.shutdownNow();
+  }
+}
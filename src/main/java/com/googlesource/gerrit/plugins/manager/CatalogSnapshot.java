@@ -0,0 +1,189 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.manager;
+
+import com.google.common.collect.ImmutableCollection;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.Maps;
+import com.googlesource.gerrit.plugins.manager.jfr.CatalogMergeEvent;
+import com.googlesource.gerrit.plugins.manager.repository.PluginInfo;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Plugins available from all the repositories, keeping only the latest version of each plugin.
+ *
+ * <p>Snapshots are immutable: a new snapshot is merged whenever the list of plugins of any of the
+ * repositories changes, or when a repository finishes loading.
+ */
+public class CatalogSnapshot {
+  static final CatalogSnapshot EMPTY =
+      new CatalogSnapshot(
+          ImmutableMap.of(),
+          ImmutableMap.of(),
+          ImmutableSortedMap.of(),
+          ImmutableMap.of(),
+          ImmutableMap.of(),
+          null);
+
+  /** Completeness of the plugins of a repository in the snapshot. */
+  public enum SourceState {
+    /** All the plugins of the repository are included. */
+    COMPLETE,
+    /** The repository is still loading and its plugins are added to the next snapshots. */
+    LOADING,
+    /** The repository failed to load and its plugins are missing. */
+    FAILED
+  }
+
+  private final ImmutableMap<String, Collection<PluginInfo>> sources;
+  private final ImmutableMap<String, SourceState> sourceStates;
+  private final ImmutableSortedMap<String, PluginInfo> plugins;
+  // Hash index of the plugins by name, for looking up single plugins.
+  private final ImmutableMap<String, PluginInfo> pluginsIndex;
+  private final ImmutableMap<String, String> pluginSources;
+  private final Instant merged;
+
+  // Built on the first search, as most snapshots are only listed.
+  private volatile CatalogIndex index;
+
+  private CatalogSnapshot(
+      ImmutableMap<String, Collection<PluginInfo>> sources,
+      ImmutableMap<String, SourceState> sourceStates,
+      ImmutableSortedMap<String, PluginInfo> plugins,
+      ImmutableMap<String, PluginInfo> pluginsIndex,
+      ImmutableMap<String, String> pluginSources,
+      Instant merged) {
+    this.sources = sources;
+    this.sourceStates = sourceStates;
+    this.plugins = plugins;
+    this.pluginsIndex = pluginsIndex;
+    this.pluginSources = pluginSources;
+    this.merged = merged;
+  }
+
+  /**
+   * Merges the plugins of the loaded repositories, in their order of precedence for equal
+   * versions.
+   *
+   * @param sources plugins of the repositories that completed loading, by repository name.
+   * @param sourceStates state of every repository, by repository name.
+   */
+  static CatalogSnapshot merge(
+      Map<String, Collection<PluginInfo>> sources, Map<String, SourceState> sourceStates) {
+    CatalogMergeEvent event = new CatalogMergeEvent();
+    event.begin();
+    Map<String, PluginInfo> pluginsMap = new HashMap<>();
+    Map<String, String> pluginSources = new HashMap<>();
+    int sourcePlugins = 0;
+    for (Map.Entry<String, Collection<PluginInfo>> source : sources.entrySet()) {
+      addAll(pluginsMap, pluginSources, source.getKey(), source.getValue());
+      sourcePlugins += source.getValue().size();
+    }
+    CatalogSnapshot snapshot =
+        new CatalogSnapshot(
+            ImmutableMap.copyOf(sources),
+            ImmutableMap.copyOf(sourceStates),
+            ImmutableSortedMap.copyOf(pluginsMap),
+            ImmutableMap.copyOf(pluginsMap),
+            ImmutableMap.copyOf(pluginSources),
+            Instant.now());
+    event.end();
+    if (event.shouldCommit()) {
+      event.sources = sources.size();
+      event.sourcePlugins = sourcePlugins;
+      event.plugins = pluginsMap.size();
+      event.commit();
+    }
+    return snapshot;
+  }
+
+  /** When the snapshot was merged, empty for the snapshot served before any merge. */
+  public Optional<Instant> merged() {
+    return Optional.ofNullable(merged);
+  }
+
+  /** Plugins sorted by name. */
+  public ImmutableCollection<PluginInfo> plugins() {
+    return plugins.values();
+  }
+
+  /** Plugins by name. */
+  public ImmutableSortedMap<String, PluginInfo> pluginsByName() {
+    return plugins;
+  }
+
+  /** Search index of the plugins. */
+  CatalogIndex index() {
+    CatalogIndex current = index;
+    if (current == null) {
+      current = new CatalogIndex(plugins.values());
+      index = current;
+    }
+    return current;
+  }
+
+  /** State of every repository, by repository name. */
+  public ImmutableMap<String, SourceState> sources() {
+    return sourceStates;
+  }
+
+  /** Number of plugins of every loaded repository, by repository name. */
+  public ImmutableMap<String, Integer> sourceSizes() {
+    return ImmutableMap.copyOf(Maps.transformValues(sources, Collection::size));
+  }
+
+  public Optional<PluginInfo> get(String name) {
+    return Optional.ofNullable(pluginsIndex.get(name));
+  }
+
+  /** Name of the repository of the plugin, if available. */
+  public Optional<String> sourceOf(String name) {
+    return Optional.ofNullable(pluginSources.get(name));
+  }
+
+  /** Whether this snapshot was merged from exactly the same lists of plugins and states. */
+  boolean isMergeOf(
+      Map<String, Collection<PluginInfo>> otherSources, Map<String, SourceState> otherStates) {
+    if (!sources.keySet().equals(otherSources.keySet()) || !sourceStates.equals(otherStates)) {
+      return false;
+    }
+    for (Map.Entry<String, Collection<PluginInfo>> source : sources.entrySet()) {
+      if (source.getValue() != otherSources.get(source.getKey())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static void addAll(
+      Map<String, PluginInfo> pluginsMap,
+      Map<String, String> pluginSources,
+      String source,
+      Collection<PluginInfo> plugins) {
+    for (PluginInfo pluginInfo : plugins) {
+      PluginInfo currPlugin = pluginsMap.get(pluginInfo.name);
+      if (currPlugin == null
+          || pluginInfo.parsedVersion().isLaterThan(currPlugin.parsedVersion())) {
+        pluginsMap.put(pluginInfo.name, pluginInfo);
+        pluginSources.put(pluginInfo.name, source);
+      }
+    }
+  }
+}
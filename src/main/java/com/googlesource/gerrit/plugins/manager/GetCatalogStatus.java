@@ -0,0 +1,201 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.manager;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+
+import com.google.gerrit.common.Nullable;
+import com.google.gerrit.common.data.GlobalCapability;
+import com.google.gerrit.extensions.annotations.RequiresCapability;
+import com.google.gerrit.extensions.registration.DynamicSet;
+import com.google.gerrit.extensions.restapi.Response;
+import com.google.gerrit.extensions.restapi.RestReadView;
+import com.google.gerrit.extensions.restapi.TopLevelResource;
+import com.google.inject.Inject;
+import com.googlesource.gerrit.plugins.manager.CatalogSnapshot.SourceState;
+import com.googlesource.gerrit.plugins.manager.RepositoryLoadTracker.LoadStatus;
+import com.googlesource.gerrit.plugins.manager.http.HostStats;
+import com.googlesource.gerrit.plugins.manager.http.NegativeCache;
+import com.googlesource.gerrit.plugins.manager.http.RepositoryHttpClient;
+import com.googlesource.gerrit.plugins.manager.repository.PluginsRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Diagnostics of the loading of the available plugins: timings and failures of every repository,
+ * requests sent to every host and URLs backing off after failing.
+ */
+@RequiresCapability(GlobalCapability.ADMINISTRATE_SERVER)
+public class GetCatalogStatus implements RestReadView<TopLevelResource> {
+  private static final int MAX_BACKOFFS = 50;
+
+  public static class CatalogStatusInfo {
+    public Map<String, RepositoryStatusInfo> repositories;
+    public Map<String, HostStatusInfo> hosts;
+    public List<BackoffInfo> backoffs;
+  }
+
+  public static class RepositoryStatusInfo {
+    /** State in the last list of available plugins served, if any. */
+    public SourceState state;
+    public Integer plugins;
+    public Boolean loading;
+    public String loadingSince;
+    public String lastLoadStart;
+    public String lastLoadEnd;
+    public Long lastLoadDurationMs;
+    /** Age of the plugins served, if loaded since the plugin start. */
+    public Long dataAgeSeconds;
+    public Long failures;
+    public String lastFailure;
+  }
+
+  public static class HostStatusInfo {
+    public long requests;
+    public long failures;
+    public long bytes;
+    public List<SlowRequestInfo> slowest;
+  }
+
+  public static class SlowRequestInfo {
+    public String url;
+    public long latencyMs;
+    public String sent;
+  }
+
+  public static class BackoffInfo {
+    public String url;
+    public Boolean notFound;
+    public String error;
+    public int failures;
+    public String lastFailure;
+    public String retryAfter;
+  }
+
+  private final DynamicSet<PluginsRepository> repositories;
+  private final PluginsCentralCache pluginsCache;
+  private final RepositoryLoadTracker loadTracker;
+  private final RepositoryHttpClient httpClient;
+  private final NegativeCache negativeCache;
+
+  @Inject
+  GetCatalogStatus(
+      DynamicSet<PluginsRepository> repositories,
+      PluginsCentralCache pluginsCache,
+      RepositoryLoadTracker loadTracker,
+      RepositoryHttpClient httpClient,
+      NegativeCache negativeCache) {
+    this.repositories = repositories;
+    this.pluginsCache = pluginsCache;
+    this.loadTracker = loadTracker;
+    this.httpClient = httpClient;
+    this.negativeCache = negativeCache;
+  }
+
+  @Override
+  public Response<CatalogStatusInfo> apply(TopLevelResource resource) {
+    Instant now = Instant.now();
+    CatalogSnapshot snapshot = pluginsCache.lastSnapshot();
+    Map<String, LoadStatus> loads = loadTracker.statuses();
+
+    CatalogStatusInfo info = new CatalogStatusInfo();
+    info.repositories = new TreeMap<>();
+    for (PluginsRepository repository : repositories) {
+      String name = repository.name();
+      info.repositories.put(
+          name,
+          toInfo(
+              snapshot.sources().get(name),
+              snapshot.sourceSizes().get(name),
+              loads.get(name),
+              now));
+    }
+
+    info.hosts = new TreeMap<>();
+    httpClient.hostStats().forEach((host, stats) -> info.hosts.put(host, toInfo(stats)));
+
+    info.backoffs =
+        negativeCache.entries().stream()
+            .limit(MAX_BACKOFFS)
+            .map(GetCatalogStatus::toInfo)
+            .collect(toImmutableList());
+    return Response.ok(info);
+  }
+
+  private static RepositoryStatusInfo toInfo(
+      @Nullable SourceState state,
+      @Nullable Integer plugins,
+      @Nullable LoadStatus load,
+      Instant now) {
+    RepositoryStatusInfo info = new RepositoryStatusInfo();
+    info.state = state;
+    info.plugins = plugins;
+    if (load == null) {
+      return info;
+    }
+
+    if (load.loadingSince != null) {
+      info.loading = true;
+      info.loadingSince = load.loadingSince.toString();
+    }
+    info.lastLoadStart = toString(load.lastStart);
+    info.lastLoadEnd = toString(load.lastEnd);
+    Duration lastDuration = load.lastDuration();
+    info.lastLoadDurationMs = lastDuration != null ? lastDuration.toMillis() : null;
+    info.dataAgeSeconds =
+        load.lastSuccess != null ? Duration.between(load.lastSuccess, now).getSeconds() : null;
+    info.failures = load.failures > 0 ? load.failures : null;
+    info.lastFailure = load.lastFailure;
+    return info;
+  }
+
+  private static HostStatusInfo toInfo(HostStats stats) {
+    HostStatusInfo info = new HostStatusInfo();
+    info.requests = stats.getRequests();
+    info.failures = stats.getFailures();
+    info.bytes = stats.getBytes();
+    info.slowest =
+        stats.getSlowest().stream()
+            .map(
+                request -> {
+                  SlowRequestInfo slow = new SlowRequestInfo();
+                  slow.url = request.url;
+                  slow.latencyMs = request.latency.toMillis();
+                  slow.sent = request.sent.toString();
+                  return slow;
+                })
+            .collect(toImmutableList());
+    return info;
+  }
+
+  private static BackoffInfo toInfo(NegativeCache.Entry entry) {
+    BackoffInfo info = new BackoffInfo();
+    info.url = entry.url;
+    info.notFound = entry.notFound ? true : null;
+    info.error = entry.error;
+    info.failures = entry.failures;
+    info.lastFailure = entry.lastFailure.toString();
+    info.retryAfter = entry.retryAfter.toString();
+    return info;
+  }
+
+  @Nullable
+  private static String toString(@Nullable Instant instant) {
+    return instant != null ? instant.toString() : null;
+  }
+}
@@ -14,50 +14,112 @@
 
 package com.googlesource.gerrit.plugins.manager;
 
-import com.google.common.collect.Maps;
+import com.google.common.base.Strings;
+import com.google.gerrit.common.Nullable;
 import com.google.gerrit.common.data.GlobalCapability;
 import com.google.gerrit.extensions.annotations.RequiresCapability;
+import com.google.gerrit.extensions.restapi.BadRequestException;
 import com.google.gerrit.extensions.restapi.Response;
 import com.google.gerrit.extensions.restapi.RestApiException;
 import com.google.gerrit.extensions.restapi.RestReadView;
 import com.google.gerrit.extensions.restapi.TopLevelResource;
 import com.google.inject.Inject;
+import com.googlesource.gerrit.plugins.manager.CatalogSnapshot.SourceState;
 import com.googlesource.gerrit.plugins.manager.repository.PluginInfo;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
+import org.kohsuke.args4j.Option;
 
 /** List plugins available for installation. */
 @RequiresCapability(GlobalCapability.VIEW_PLUGINS)
 public class ListAvailablePlugins implements RestReadView<TopLevelResource> {
   private final PluginsCentralCache pluginsCache;
 
+  @Option(
+      name = "--with-sources",
+      usage = "include whether the plugins of each repository are complete, loading or failed")
+  private boolean withSources;
+
+  @Option(
+      name = "--query",
+      aliases = {"-q"},
+      metaVar = "QUERY",
+      usage = "only list the plugins matching the words, by name, description or version")
+  private String query;
+
+  @Option(
+      name = "--limit",
+      aliases = {"-n"},
+      metaVar = "CNT",
+      usage = "maximum number of plugins to list")
+  private int limit;
+
+  @Option(
+      name = "--start",
+      aliases = {"-S"},
+      metaVar = "CNT",
+      usage = "number of plugins to skip")
+  private int start;
+
   @Inject
   public ListAvailablePlugins(PluginsCentralCache pluginsCache) {
     this.pluginsCache = pluginsCache;
   }
 
   @Override
-  public Response<Map<String, PluginInfo>> apply(TopLevelResource resource)
-      throws RestApiException, ExecutionException {
-    Map<String, PluginInfo> output = Maps.newTreeMap();
-    List<PluginInfo> plugins = new ArrayList<>(pluginsCache.availablePlugins());
-    Collections.sort(
-        plugins,
-        new Comparator<PluginInfo>() {
-          @Override
-          public int compare(PluginInfo a, PluginInfo b) {
-            return a.name.compareTo(b.name);
-          }
-        });
-
-    for (PluginInfo p : plugins) {
+  public Response<?> apply(TopLevelResource resource) throws RestApiException, ExecutionException {
+    if (limit < 0 || start < 0) {
+      throw new BadRequestException("limit and start must not be negative");
+    }
+
+    CatalogSnapshot snapshot = pluginsCache.snapshot();
+    if (Strings.isNullOrEmpty(query) && limit == 0 && start == 0) {
+      if (withSources) {
+        return Response.ok(
+            new AvailablePluginsInfo(snapshot.pluginsByName(), snapshot.sources(), false));
+      }
+      return Response.ok(snapshot.pluginsByName());
+    }
+
+    // Most relevant first when searching, otherwise by name
+    List<PluginInfo> matches =
+        Strings.isNullOrEmpty(query) ? snapshot.plugins().asList() : snapshot.index().search(query);
+    AvailablePluginsInfo page =
+        page(matches, start, limit, withSources ? snapshot.sources() : null);
+    if (withSources || limit > 0 || start > 0) {
+      return Response.ok(page);
+    }
+    return Response.ok(page.plugins);
+  }
+
+  /**
+   * Lists the plugins from {@code start}, up to {@code limit} plugins if not 0, telling whether
+   * more are left.
+   */
+  static AvailablePluginsInfo page(
+      List<PluginInfo> plugins, int start, int limit, @Nullable Map<String, SourceState> sources) {
+    int from = Math.min(start, plugins.size());
+    int to = limit > 0 ? Math.min(from + limit, plugins.size()) : plugins.size();
+    Map<String, PluginInfo> output = new LinkedHashMap<>();
+    for (PluginInfo p : plugins.subList(from, to)) {
       output.put(p.name, p);
     }
+    return new AvailablePluginsInfo(output, sources, to < plugins.size());
+  }
+
+  public static class AvailablePluginsInfo {
+    public final Map<String, PluginInfo> plugins;
+    public final Map<String, SourceState> sources;
+    /** Whether more plugins are matching, beyond the limit. */
+    public final Boolean more;
 
-    return Response.ok(output);
+    AvailablePluginsInfo(
+        Map<String, PluginInfo> plugins, @Nullable Map<String, SourceState> sources, boolean more) {
+      this.plugins = plugins;
+      this.sources = sources;
+      this.more = more ? true : null;
+    }
   }
 }
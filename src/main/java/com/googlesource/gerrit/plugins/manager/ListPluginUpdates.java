@@ -0,0 +1,149 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package com.googlesource.gerrit.plugins.manager;
+
+import com.google.gerrit.common.Nullable;
+import com.google.gerrit.common.data.GlobalCapability;
+import com.google.gerrit.extensions.annotations.RequiresCapability;
+import com.google.gerrit.extensions.restapi.Response;
+import com.google.gerrit.extensions.restapi.RestReadView;
+import com.google.gerrit.extensions.restapi.TopLevelResource;
+import com.google.gerrit.extensions.restapi.Url;
+import com.google.gerrit.server.plugins.Plugin;
+import com.google.gerrit.server.plugins.PluginLoader;
+import com.google.inject.Inject;
+import com.googlesource.gerrit.plugins.manager.repository.PluginInfo;
+import com.googlesource.gerrit.plugins.manager.repository.PluginVersion;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import org.kohsuke.args4j.Option;
+
+/**
+ * Installed plugins joined with the available plugins, telling which ones can be upgraded and which
+ * ones can be installed.
+ */
+@RequiresCapability(GlobalCapability.VIEW_PLUGINS)
+public class ListPluginUpdates implements RestReadView<TopLevelResource> {
+
+  public enum UpdateState {
+    /** Installed with the latest version available, or not available at all. */
+    INSTALLED,
+    /** Installed with an earlier version than the one available. */
+    UPGRADEABLE,
+    /** Available but not installed. */
+    NEW
+  }
+
+  public static class PluginUpdateInfo {
+    public String id;
+    public String description;
+    /** Installed version, if installed. */
+    public String version;
+    /** Latest version available, if available. */
+    public String availableVersion;
+    public String sha1;
+    public String url;
+    public UpdateState state;
+  }
+
+  private final PluginLoader pluginLoader;
+  private final PluginsCentralCache pluginsCache;
+
+  @Option(
+      name = "--upgradeable",
+      usage = "only list the installed plugins with a later version available")
+  private boolean upgradeable;
+
+  @Option(name = "--installed", usage = "only list the installed plugins")
+  private boolean installedOnly;
+
+  @Inject
+  ListPluginUpdates(PluginLoader pluginLoader, PluginsCentralCache pluginsCache) {
+    this.pluginLoader = pluginLoader;
+    this.pluginsCache = pluginsCache;
+  }
+
+  @Override
+  public Response<SortedMap<String, PluginUpdateInfo>> apply(TopLevelResource resource)
+      throws ExecutionException {
+    Map<String, String> installed = new HashMap<>();
+    for (Plugin plugin : pluginLoader.getPlugins(true)) {
+      installed.put(plugin.getName(), plugin.getVersion());
+    }
+    return Response.ok(
+        join(installed, pluginsCache.snapshot().pluginsByName(), upgradeable, installedOnly));
+  }
+
+  /**
+   * Joins the installed plugins with the available ones, by name.
+   *
+   * @param installed installed version of every installed plugin, by name.
+   * @param available latest available version of every plugin, by name.
+   * @param upgradeable whether to only list the installed plugins that can be upgraded.
+   * @param installedOnly whether to only list the installed plugins.
+   */
+  static SortedMap<String, PluginUpdateInfo> join(
+      Map<String, String> installed,
+      Map<String, PluginInfo> available,
+      boolean upgradeable,
+      boolean installedOnly) {
+    SortedMap<String, PluginUpdateInfo> updates = new TreeMap<>();
+    for (Map.Entry<String, String> plugin : installed.entrySet()) {
+      PluginUpdateInfo info =
+          installed(plugin.getKey(), plugin.getValue(), available.get(plugin.getKey()));
+      if (!upgradeable || info.state == UpdateState.UPGRADEABLE) {
+        updates.put(plugin.getKey(), info);
+      }
+    }
+    if (!upgradeable && !installedOnly) {
+      for (PluginInfo plugin : available.values()) {
+        updates.computeIfAbsent(plugin.name, name -> notInstalled(plugin));
+      }
+    }
+    return updates;
+  }
+
+  private static PluginUpdateInfo installed(
+      String name, @Nullable String version, @Nullable PluginInfo available) {
+    PluginUpdateInfo info = new PluginUpdateInfo();
+    info.id = Url.encode(name);
+    info.version = version;
+    info.state = UpdateState.INSTALLED;
+    if (available != null) {
+      setAvailable(info, available);
+      if (available.parsedVersion().isLaterThan(PluginVersion.parse(version))) {
+        info.state = UpdateState.UPGRADEABLE;
+      }
+    }
+    return info;
+  }
+
+  private static PluginUpdateInfo notInstalled(PluginInfo available) {
+    PluginUpdateInfo info = new PluginUpdateInfo();
+    info.id = available.id;
+    info.state = UpdateState.NEW;
+    setAvailable(info, available);
+    return info;
+  }
+
+  private static void setAvailable(PluginUpdateInfo info, PluginInfo available) {
+    info.description = available.description;
+    info.availableVersion = available.version;
+    info.sha1 = available.sha1;
+    info.url = available.url;
+  }
+}
@@ -15,53 +15,92 @@
 package com.googlesource.gerrit.plugins.manager;
 
 import com.google.common.flogger.FluentLogger;
-import com.google.gerrit.extensions.annotations.PluginName;
 import com.google.gerrit.extensions.events.LifecycleListener;
 import com.google.inject.Inject;
 import com.googlesource.gerrit.plugins.manager.repository.PluginInfo;
 import java.util.Collection;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Pre-loads the list of plugins at start-up and refreshes it periodically in the background.
+ *
+ * <p>Every refresh is scheduled after the {@code catalogRefreshInterval}, varied randomly by up to
+ * the {@code catalogRefreshJitter} so that the Gerrit servers sharing the same Jenkins do not all
+ * crawl it at the same time.
+ */
 public class OnStartStop implements LifecycleListener {
   private static final FluentLogger logger = FluentLogger.forEnclosingClass();
 
   private final PluginsCentralCache pluginsCache;
 
-  private final String pluginName;
-
   private final PluginManagerConfig config;
 
+  private final ScheduledExecutorService refreshExecutor;
+
+  private Future<?> nextRefresh;
+  private boolean stopped;
+
   @Inject
   public OnStartStop(
-      PluginsCentralCache pluginsCache, @PluginName String pluginName, PluginManagerConfig config) {
+      PluginsCentralCache pluginsCache,
+      PluginManagerConfig config,
+      @CatalogRefreshExecutor ScheduledExecutorService refreshExecutor) {
     this.pluginsCache = pluginsCache;
-    this.pluginName = pluginName;
     this.config = config;
+    this.refreshExecutor = refreshExecutor;
   }
 
   @Override
-  public void start() {
+  public synchronized void start() {
     if (config.isCachePreloadEnabled()) {
-      Thread preloader =
-          new Thread(
-              new Runnable() {
-
-                @Override
-                public void run() {
-                  logger.atInfo().log("Start-up: pre-loading list of plugins from registry");
-                  try {
-                    Collection<PluginInfo> plugins = pluginsCache.availablePlugins();
-                    logger.atInfo().log("%d plugins successfully pre-loaded", plugins.size());
-                  } catch (ExecutionException e) {
-                    logger.atSevere().withCause(e).log("Failed to access plugin list");
-                  }
-                }
-              });
-      preloader.setName(pluginName + "-preloader");
-      preloader.start();
+      nextRefresh = refreshExecutor.submit(this::preload);
+    } else {
+      scheduleRefresh();
     }
   }
 
   @Override
-  public void stop() {}
+  public synchronized void stop() {
+    stopped = true;
+    if (nextRefresh != null) {
+      nextRefresh.cancel(true);
+    }
+  }
+
+  private void preload() {
+    logger.atInfo().log("Start-up: pre-loading list of plugins from registry");
+    try {
+      Collection<PluginInfo> plugins = pluginsCache.preload();
+      logger.atInfo().log("%d plugins successfully pre-loaded", plugins.size());
+    } catch (ExecutionException e) {
+      logger.atSevere().withCause(e).log("Failed to access plugin list");
+    } finally {
+      scheduleRefresh();
+    }
+  }
+
+  private void refresh() {
+    try {
+      logger.atFine().log("Refreshing the list of plugins");
+      pluginsCache.refresh();
+    } finally {
+      scheduleRefresh();
+    }
+  }
+
+  private synchronized void scheduleRefresh() {
+    if (stopped) {
+      return;
+    }
+    long delay = config.getCatalogRefreshInterval().toMillis();
+    long jitter = config.getCatalogRefreshJitter().toMillis();
+    if (jitter > 0) {
+      delay += ThreadLocalRandom.current().nextLong(-jitter, jitter + 1);
+    }
+    nextRefresh = refreshExecutor.schedule(this::refresh, delay, TimeUnit.MILLISECONDS);
+  }
 }
@@ -14,9 +14,11 @@
 
 package com.googlesource.gerrit.plugins.manager;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.gerrit.extensions.annotations.PluginName;
 import com.google.gerrit.extensions.restapi.AuthException;
 import com.google.gerrit.server.CurrentUser;
+import com.google.gerrit.server.config.ConfigUtil;
 import com.google.gerrit.server.config.PluginConfig;
 import com.google.gerrit.server.config.PluginConfigFactory;
 import com.google.gerrit.server.permissions.GlobalPermission;
@@ -24,9 +26,24 @@ import com.google.gerrit.server.permissions.PermissionBackend;
 import com.google.gerrit.server.permissions.PermissionBackendException;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 
 public class PluginManagerConfig {
   private static final String DEFAULT_GERRIT_CI_URL = "https://gerrit-ci.gerritforge.com";
+  private static final int DEFAULT_FETCH_THREADS = 8;
+  private static final long DEFAULT_HTTP_CACHE_SIZE = 50L * 1024 * 1024;
+  private static final Duration DEFAULT_JENKINS_CACHE_TTL = Duration.ofHours(1);
+  private static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(10);
+  private static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofSeconds(30);
+  private static final int DEFAULT_HEDGE_PERCENTILE = 95;
+  private static final int DEFAULT_HEDGE_BUDGET = 5;
+  private static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 32;
+  private static final Duration DEFAULT_FAILURE_BACKOFF = Duration.ofMinutes(5);
+  private static final Duration DEFAULT_MAX_FAILURE_BACKOFF = Duration.ofDays(1);
+  private static final Duration DEFAULT_CATALOG_REFRESH_INTERVAL = Duration.ofDays(1);
+  private static final Duration DEFAULT_CATALOG_MAX_AGE = Duration.ofDays(7);
+  private static final Duration DEFAULT_REPOSITORY_LOAD_TIMEOUT = Duration.ofSeconds(10);
 
   private final PluginConfig config;
   private final Provider<CurrentUser> currentUserProvider;
@@ -38,7 +55,20 @@ public class PluginManagerConfig {
       @PluginName String pluginName,
       Provider<CurrentUser> currentUserProvider,
       PermissionBackend permissions) {
-    this.config = configFactory.getFromGerritConfig(pluginName);
+    this(configFactory.getFromGerritConfig(pluginName), currentUserProvider, permissions);
+  }
+
+  /** Creates the configuration of the tests, which do not check the permissions. */
+  @VisibleForTesting
+  public PluginManagerConfig(PluginConfig config) {
+    this(config, null, null);
+  }
+
+  private PluginManagerConfig(
+      PluginConfig config,
+      Provider<CurrentUser> currentUserProvider,
+      PermissionBackend permissions) {
+    this.config = config;
     this.currentUserProvider = currentUserProvider;
     this.permissions = permissions;
   }
@@ -47,13 +77,100 @@ public class PluginManagerConfig {
     return config.getString("jenkinsUrl", DEFAULT_GERRIT_CI_URL);
   }
 
+  public boolean isJenkinsTreeApiEnabled() {
+    return config.getBoolean("jenkinsTreeApi", true);
+  }
+
+  public Duration getJenkinsCacheTtl() {
+    return getDuration("jenkinsCacheTtl", DEFAULT_JENKINS_CACHE_TTL);
+  }
+
+  public int getFetchThreads() {
+    return Math.max(1, config.getInt("fetchThreads", DEFAULT_FETCH_THREADS));
+  }
+
+  public Duration getConnectTimeout() {
+    return getDuration("connectTimeout", DEFAULT_CONNECT_TIMEOUT);
+  }
+
+  public Duration getRequestTimeout() {
+    return getDuration("requestTimeout", DEFAULT_REQUEST_TIMEOUT);
+  }
+
+  public long getHttpCacheSize() {
+    return config.getLong("httpCacheSize", DEFAULT_HTTP_CACHE_SIZE);
+  }
+
+  public boolean isHedgeRequestsEnabled() {
+    return config.getBoolean("hedgeRequests", false);
+  }
+
+  public int getHedgePercentile() {
+    return Math.min(99, Math.max(50, config.getInt("hedgePercentile", DEFAULT_HEDGE_PERCENTILE)));
+  }
+
+  public int getHedgeBudget() {
+    return Math.min(100, Math.max(0, config.getInt("hedgeBudget", DEFAULT_HEDGE_BUDGET)));
+  }
+
+  public int getMaxConcurrentRequests() {
+    return Math.max(1, config.getInt("maxConcurrentRequests", DEFAULT_MAX_CONCURRENT_REQUESTS));
+  }
+
+  public Duration getFailureBackoff() {
+    return getDuration("failureBackoff", DEFAULT_FAILURE_BACKOFF);
+  }
+
+  public Duration getMaxFailureBackoff() {
+    return getDuration("maxFailureBackoff", DEFAULT_MAX_FAILURE_BACKOFF);
+  }
+
+  public Duration getCatalogRefreshInterval() {
+    return getDuration("catalogRefreshInterval", DEFAULT_CATALOG_REFRESH_INTERVAL);
+  }
+
+  public Duration getCatalogMaxAge() {
+    Duration maxAge = getDuration("catalogMaxAge", DEFAULT_CATALOG_MAX_AGE);
+    Duration refreshInterval = getCatalogRefreshInterval();
+    return maxAge.compareTo(refreshInterval) > 0 ? maxAge : refreshInterval.multipliedBy(2);
+  }
+
+  /** Random variation of the catalog refresh interval, at most half of the interval. */
+  public Duration getCatalogRefreshJitter() {
+    Duration refreshInterval = getCatalogRefreshInterval();
+    Duration jitter = getDuration("catalogRefreshJitter", refreshInterval.dividedBy(10));
+    Duration maxJitter = refreshInterval.dividedBy(2);
+    return jitter.compareTo(maxJitter) > 0 ? maxJitter : jitter;
+  }
+
+  public Duration getRepositoryLoadTimeout() {
+    return getDuration("repositoryLoadTimeout", DEFAULT_REPOSITORY_LOAD_TIMEOUT);
+  }
+
   public boolean isCachePreloadEnabled() {
     return config.getBoolean("preload", true);
   }
 
+  private Duration getDuration(String name, Duration defaultValue) {
+    String value = config.getString(name);
+    if (value == null) {
+      return defaultValue;
+    }
+    return Duration.ofMillis(
+        ConfigUtil.getTimeUnit(value, defaultValue.toMillis(), TimeUnit.MILLISECONDS));
+  }
+
   public boolean canAdministerPlugins() {
+    return hasPermission(GlobalPermission.ADMINISTRATE_SERVER);
+  }
+
+  public boolean canViewPlugins() {
+    return hasPermission(GlobalPermission.VIEW_PLUGINS);
+  }
+
+  private boolean hasPermission(GlobalPermission permission) {
     try {
-      permissions.user(currentUserProvider.get()).check(GlobalPermission.ADMINISTRATE_SERVER);
+      permissions.user(currentUserProvider.get()).check(permission);
       return true;
     } catch (AuthException | PermissionBackendException e) {
       return false;
@@ -14,16 +14,28 @@
 
 package com.googlesource.gerrit.plugins.manager;
 
+import static com.googlesource.gerrit.plugins.manager.AvailablePluginResource.AVAILABLE_PLUGIN_KIND;
+
 import com.google.gerrit.extensions.events.LifecycleListener;
+import com.google.gerrit.extensions.registration.DynamicMap;
 import com.google.gerrit.extensions.registration.DynamicSet;
+import com.google.gerrit.extensions.restapi.RestApiModule;
 import com.google.gerrit.extensions.webui.TopMenu;
 import com.google.inject.AbstractModule;
+import com.google.inject.Inject;
 import com.google.inject.internal.UniqueAnnotations;
 import com.googlesource.gerrit.plugins.manager.repository.CorePluginsRepository;
 import com.googlesource.gerrit.plugins.manager.repository.JenkinsCiPluginsRepository;
 import com.googlesource.gerrit.plugins.manager.repository.PluginsRepository;
+import java.util.concurrent.ScheduledExecutorService;
 
 public class PluginModule extends AbstractModule {
+  private final PluginManagerConfig config;
+
+  @Inject
+  PluginModule(PluginManagerConfig config) {
+    this.config = config;
+  }
 
   @Override
   protected void configure() {
@@ -37,8 +49,24 @@ public class PluginModule extends AbstractModule {
     DynamicSet.bind(binder(), PluginsRepository.class).to(JenkinsCiPluginsRepository.class);
     DynamicSet.bind(binder(), PluginsRepository.class).to(CorePluginsRepository.class);
 
-    install(PluginsCentralCache.module());
+    bind(ScheduledExecutorService.class)
+        .annotatedWith(CatalogRefreshExecutor.class)
+        .toProvider(CatalogRefreshExecutorProvider.class);
+    bind(LifecycleListener.class)
+        .annotatedWith(UniqueAnnotations.create())
+        .to(CatalogRefreshExecutorProvider.class);
+    install(PluginsCentralCache.module(config));
 
     bind(LifecycleListener.class).annotatedWith(UniqueAnnotations.create()).to(OnStartStop.class);
+
+    install(
+        new RestApiModule() {
+          @Override
+          protected void configure() {
+            DynamicMap.mapOf(binder(), AVAILABLE_PLUGIN_KIND);
+            get(AVAILABLE_PLUGIN_KIND).to(GetAvailablePlugin.class);
+            post(AVAILABLE_PLUGIN_KIND, "refresh").to(RefreshAvailablePlugin.class);
+          }
+        });
   }
 }
@@ -14,42 +14,251 @@
 
 package com.googlesource.gerrit.plugins.manager;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.cache.LoadingCache;
+import com.google.common.flogger.FluentLogger;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.google.gerrit.common.Version;
+import com.google.gerrit.extensions.registration.DynamicSet;
 import com.google.gerrit.server.cache.CacheModule;
 import com.google.inject.Inject;
+import com.google.inject.Singleton;
 import com.google.inject.TypeLiteral;
 import com.google.inject.name.Named;
+import com.googlesource.gerrit.plugins.manager.CatalogSnapshot.SourceState;
 import com.googlesource.gerrit.plugins.manager.PluginsCentralLoader.ListKey;
 import com.googlesource.gerrit.plugins.manager.repository.PluginInfo;
+import com.googlesource.gerrit.plugins.manager.repository.PluginsRepository;
 import java.time.Duration;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+@Singleton
 public class PluginsCentralCache {
+  private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+  private static final String GERRIT_VERSION = Version.getVersion();
 
   private final LoadingCache<ListKey, Collection<PluginInfo>> pluginsCache;
+  private final PluginsCentralLoader loader;
+  private final DynamicSet<PluginsRepository> repositories;
+  private final ScheduledExecutorService loadExecutor;
+  private final Duration loadTimeout;
+  private final CatalogMetrics metrics;
+
+  // Loads of the repositories not in the cache yet, that may outlive the requests waiting for them.
+  private final ConcurrentMap<ListKey, Future<Collection<PluginInfo>>> loads =
+      new ConcurrentHashMap<>();
+
+  private volatile CatalogSnapshot snapshot = CatalogSnapshot.EMPTY;
 
   public static final String PLUGINS_LIST_CACHE_NAME = "plugins_list";
 
   @Inject
   public PluginsCentralCache(
-      @Named(PLUGINS_LIST_CACHE_NAME) LoadingCache<ListKey, Collection<PluginInfo>> pluginsCache) {
+      @Named(PLUGINS_LIST_CACHE_NAME) LoadingCache<ListKey, Collection<PluginInfo>> pluginsCache,
+      DynamicSet<PluginsRepository> repositories,
+      @CatalogRefreshExecutor ScheduledExecutorService loadExecutor,
+      PluginManagerConfig config,
+      CatalogMetrics metrics,
+      PluginsCentralLoader loader) {
+    this(
+        pluginsCache,
+        repositories,
+        loadExecutor,
+        config.getRepositoryLoadTimeout(),
+        metrics,
+        loader);
+  }
+
+  @VisibleForTesting
+  PluginsCentralCache(
+      LoadingCache<ListKey, Collection<PluginInfo>> pluginsCache,
+      DynamicSet<PluginsRepository> repositories,
+      ScheduledExecutorService loadExecutor,
+      Duration loadTimeout,
+      CatalogMetrics metrics,
+      PluginsCentralLoader loader) {
     this.pluginsCache = pluginsCache;
+    this.loader = loader;
+    this.repositories = repositories;
+    this.loadExecutor = loadExecutor;
+    this.loadTimeout = loadTimeout;
+    this.metrics = metrics;
+    metrics.registerSnapshot(() -> snapshot);
   }
 
   public Collection<PluginInfo> availablePlugins() throws ExecutionException {
-    return pluginsCache.get(ListKey.ALL);
+    return snapshot().plugins();
+  }
+
+  /**
+   * Returns the plugins of all the repositories merged together.
+   *
+   * <p>Every repository is cached, loaded and refreshed independently. The repositories not cached
+   * yet are loaded concurrently and the ones not loaded within the {@code repositoryLoadTimeout}
+   * are left out as {@link SourceState#LOADING}: their load continues in the background and their
+   * plugins are included in the next snapshots. A repository failing to load is left out as
+   * {@link SourceState#FAILED}, without affecting the plugins of the others.
+   *
+   * @throws ExecutionException if all the repositories failed to load.
+   */
+  public CatalogSnapshot snapshot() throws ExecutionException {
+    return snapshot(new HashSet<>());
+  }
+
+  /**
+   * Loads the plugins of all the repositories at start-up, then refreshes in the background the
+   * ones served from the cache, as persisted before the restart. The repositories just loaded are
+   * not loaded again.
+   */
+  public Collection<PluginInfo> preload() throws ExecutionException {
+    Set<String> cached = new HashSet<>();
+    Collection<PluginInfo> plugins = snapshot(cached).plugins();
+    for (String repository : cached) {
+      pluginsCache.refresh(new ListKey(repository, GERRIT_VERSION));
+    }
+    return plugins;
+  }
+
+  private CatalogSnapshot snapshot(Set<String> cached) throws ExecutionException {
+    long deadline = System.nanoTime() + loadTimeout.toNanos();
+    Map<String, Future<Collection<PluginInfo>>> pending = new LinkedHashMap<>();
+    for (PluginsRepository repository : repositories) {
+      ListKey key = new ListKey(repository.name(), GERRIT_VERSION);
+      Collection<PluginInfo> plugins = pluginsCache.getIfPresent(key);
+      metrics.recordCacheLookup(key.repository, plugins != null);
+      if (plugins != null) {
+        cached.add(key.repository);
+        pending.put(key.repository, Futures.immediateFuture(plugins));
+      } else {
+        pending.put(key.repository, load(key));
+      }
+    }
+
+    Map<String, Collection<PluginInfo>> sources = new LinkedHashMap<>();
+    Map<String, SourceState> sourceStates = new LinkedHashMap<>();
+    ExecutionException failure = null;
+    for (Map.Entry<String, Future<Collection<PluginInfo>>> load : pending.entrySet()) {
+      String repository = load.getKey();
+      try {
+        sources.put(
+            repository, load.getValue().get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS));
+        sourceStates.put(repository, SourceState.COMPLETE);
+      } catch (TimeoutException e) {
+        logger.atFine().log("Plugins of the %s repository are still loading", repository);
+        sourceStates.put(repository, SourceState.LOADING);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        sourceStates.put(repository, SourceState.LOADING);
+      } catch (ExecutionException e) {
+        Throwable cause = rootCause(e);
+        logger.atWarning().atMostEvery(1, TimeUnit.MINUTES).withCause(cause).log(
+            "Unable to list the plugins of the %s repository", repository);
+        failure = new ExecutionException(cause);
+        sourceStates.put(repository, SourceState.FAILED);
+      }
+    }
+    if (failure != null
+        && !sourceStates.containsValue(SourceState.COMPLETE)
+        && !sourceStates.containsValue(SourceState.LOADING)) {
+      throw failure;
+    }
+
+    CatalogSnapshot current = snapshot;
+    if (current.isMergeOf(sources, sourceStates)) {
+      return current;
+    }
+    CatalogSnapshot merged = CatalogSnapshot.merge(sources, sourceStates);
+    snapshot = merged;
+    return merged;
+  }
+
+  /** Starts loading the plugins of the repository in the background, unless already loading. */
+  private Future<Collection<PluginInfo>> load(ListKey key) {
+    return loads.compute(
+        key,
+        (k, load) ->
+            load == null || load.isDone() ? loadExecutor.submit(() -> pluginsCache.get(k)) : load);
+  }
+
+  private static Throwable rootCause(ExecutionException e) {
+    Throwable cause = e.getCause();
+    while ((cause instanceof ExecutionException || cause instanceof UncheckedExecutionException)
+        && cause.getCause() != null) {
+      cause = cause.getCause();
+    }
+    return cause;
+  }
+
+  /** Returns the last snapshot served, without loading any repository. */
+  public CatalogSnapshot lastSnapshot() {
+    return snapshot;
+  }
+
+  /**
+   * Reloads the plugins of a repository now from their source, bypassing the plugins kept by the
+   * repository itself, and keeping the cached ones if the reload fails.
+   *
+   * @return the plugins of all the repositories, including the reloaded ones.
+   * @throws ExecutionException if the reload failed.
+   */
+  public CatalogSnapshot reload(String repository) throws ExecutionException {
+    ListKey key = new ListKey(repository, GERRIT_VERSION);
+    for (PluginsRepository pluginsRepository : repositories) {
+      if (pluginsRepository.name().equals(repository)) {
+        pluginsRepository.invalidate(GERRIT_VERSION);
+      }
+    }
+    try {
+      pluginsCache.put(key, loader.load(key));
+    } catch (Exception e) {
+      throw new ExecutionException(e);
+    }
+    return snapshot();
+  }
+
+  /** Refreshes the cached plugins of the repositories in the background. */
+  public void refresh() {
+    for (PluginsRepository repository : repositories) {
+      ListKey key = new ListKey(repository.name(), GERRIT_VERSION);
+      if (pluginsCache.getIfPresent(key) != null) {
+        pluginsCache.refresh(key);
+      }
+    }
   }
 
-  static CacheModule module() {
+  static CacheModule module(PluginManagerConfig config) {
     return new CacheModule() {
       @Override
       protected void configure() {
-        cache(
+        // Stale lists, including the ones persisted before a restart, are served
+        // while being refreshed in the background, until they become too old to
+        // be served at all. The lists are normally refreshed earlier by
+        // OnStartStop, this only catches up with the late refreshes. Gerrit's
+        // persisted caches hand their refreshes to PluginsCentralLoader.reload
+        // and store the reloaded lists on disk: the disk only answers the loads
+        // of the lists missing from memory, never a refresh.
+        persist(
                 PluginsCentralCache.PLUGINS_LIST_CACHE_NAME,
                 ListKey.class,
                 new TypeLiteral<Collection<PluginInfo>>() {})
-            .expireAfterWrite(Duration.ofDays(1))
+            .version(1)
+            .keySerializer(PluginsListSerializers.ListKeySerializer.INSTANCE)
+            .valueSerializer(PluginsListSerializers.PluginInfoListSerializer.INSTANCE)
+            .refreshAfterWrite(
+                config.getCatalogRefreshInterval().plus(config.getCatalogRefreshJitter()))
+            .expireAfterWrite(config.getCatalogMaxAge())
             .loader(PluginsCentralLoader.class);
 
         bind(PluginsCentralCache.class);
@@ -14,79 +14,104 @@
 
 package com.googlesource.gerrit.plugins.manager;
 
-import com.google.common.base.Splitter;
 import com.google.common.cache.CacheLoader;
-import com.google.gerrit.common.Version;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListenableFutureTask;
 import com.google.gerrit.extensions.registration.DynamicSet;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.googlesource.gerrit.plugins.manager.PluginsCentralLoader.ListKey;
 import com.googlesource.gerrit.plugins.manager.repository.PluginInfo;
 import com.googlesource.gerrit.plugins.manager.repository.PluginsRepository;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
 
+/** Loads the plugins of a single repository, so that each repository is cached independently. */
 @Singleton
 public class PluginsCentralLoader extends CacheLoader<ListKey, Collection<PluginInfo>> {
-  private static final Splitter VERSION_SPLITTER = Splitter.on(".");
 
   public static class ListKey {
-    static final ListKey ALL = new ListKey();
+    final String repository;
+    final String gerritVersion;
 
-    private ListKey() {}
-  }
+    ListKey(String repository, String gerritVersion) {
+      this.repository = repository;
+      this.gerritVersion = gerritVersion;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof ListKey)) {
+        return false;
+      }
+      ListKey other = (ListKey) o;
+      return repository.equals(other.repository) && gerritVersion.equals(other.gerritVersion);
+    }
 
-  private static final String GERRIT_VERSION = Version.getVersion();
+    @Override
+    public int hashCode() {
+      return Objects.hash(repository, gerritVersion);
+    }
+
+    @Override
+    public String toString() {
+      return repository + "@" + gerritVersion;
+    }
+  }
 
   private final DynamicSet<PluginsRepository> repositories;
+  private final ScheduledExecutorService refreshExecutor;
+  private final CatalogMetrics metrics;
+  private final RepositoryLoadTracker loadTracker;
 
   @Inject
-  public PluginsCentralLoader(DynamicSet<PluginsRepository> repositories) {
+  public PluginsCentralLoader(
+      DynamicSet<PluginsRepository> repositories,
+      @CatalogRefreshExecutor ScheduledExecutorService refreshExecutor,
+      CatalogMetrics metrics,
+      RepositoryLoadTracker loadTracker) {
     this.repositories = repositories;
+    this.refreshExecutor = refreshExecutor;
+    this.metrics = metrics;
+    this.loadTracker = loadTracker;
   }
 
   @Override
-  public Collection<PluginInfo> load(ListKey all) throws Exception {
-    Map<String, PluginInfo> pluginsMap = new HashMap<>();
-    Collection<PluginInfo> plugins;
+  public Collection<PluginInfo> load(ListKey key) throws Exception {
     for (PluginsRepository pluginsRepository : repositories) {
-      plugins = pluginsRepository.list(GERRIT_VERSION);
-      addAll(pluginsMap, plugins);
-    }
-    return pluginsMap.values();
-  }
-
-  private void addAll(Map<String, PluginInfo> pluginsMap, Collection<PluginInfo> plugins) {
-    for (PluginInfo pluginInfo : plugins) {
-      PluginInfo currPlugin = pluginsMap.get(pluginInfo.name);
-      if (currPlugin == null || isLaterVersion(pluginInfo.version, currPlugin.version)) {
-        pluginsMap.put(pluginInfo.name, pluginInfo);
+      if (pluginsRepository.name().equals(key.repository)) {
+        Instant started = loadTracker.started(key.repository);
+        long start = System.nanoTime();
+        try {
+          Collection<PluginInfo> plugins =
+              ImmutableList.copyOf(pluginsRepository.list(key.gerritVersion));
+          metrics.recordLoad(key.repository, Duration.ofNanos(System.nanoTime() - start));
+          loadTracker.succeeded(key.repository, started, plugins.size());
+          return plugins;
+        } catch (Exception e) {
+          metrics.recordLoadFailure(key.repository, Duration.ofNanos(System.nanoTime() - start));
+          loadTracker.failed(key.repository, started, e);
+          throw e;
+        }
       }
     }
+    return ImmutableList.of();
   }
 
-  private boolean isLaterVersion(String newVersion, String currVersion) {
-    List<String> vals1 = VERSION_SPLITTER.splitToList(newVersion.replaceAll("-", "."));
-    List<String> vals2 = VERSION_SPLITTER.splitToList(currVersion.replaceAll("-", "."));
-    int i = 0;
-
-    while (i < vals1.size() && i < vals2.size() && vals1.get(i).equals(vals2.get(i))) {
-      i++;
-    }
-
-    if (i < vals1.size() && i < vals2.size()) {
-      return compareNumOrStrings(vals1.get(i), vals2.get(i)) > 0;
-    }
-    return vals1.size() - vals2.size() > 0;
-  }
-
-  private int compareNumOrStrings(String v1, String v2) {
-    try {
-      return Integer.parseInt(v1) - Integer.parseInt(v2);
-    } catch (NumberFormatException e) {
-      return v1.compareTo(v2);
-    }
+  /**
+   * Reloads the list of plugins in the background: the current list keeps being served until the
+   * new one replaces it, or is kept if the reload fails.
+   */
+  @Override
+  public ListenableFuture<Collection<PluginInfo>> reload(
+      ListKey key, Collection<PluginInfo> oldPlugins) {
+    ListenableFutureTask<Collection<PluginInfo>> reload =
+        ListenableFutureTask.create(() -> load(key));
+    refreshExecutor.execute(reload);
+    return reload;
   }
 }
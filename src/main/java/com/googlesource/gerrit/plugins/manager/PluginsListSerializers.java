@@ -0,0 +1,159 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.manager;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.collect.ImmutableList;
+import com.google.gerrit.common.Nullable;
+import com.google.gerrit.server.cache.serialize.CacheSerializer;
+import com.googlesource.gerrit.plugins.manager.PluginsCentralLoader.ListKey;
+import com.googlesource.gerrit.plugins.manager.repository.PluginInfo;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Collection;
+
+/**
+ * Serializers of the persistent {@code plugins_list} cache.
+ *
+ * <p>Values are serialized in a compact binary format, starting with its version so that entries
+ * written by a different version of the format are discarded instead of being misread.
+ */
+class PluginsListSerializers {
+  private static final int FORMAT_VERSION = 1;
+
+  enum ListKeySerializer implements CacheSerializer<ListKey> {
+    INSTANCE;
+
+    @Override
+    public byte[] serialize(ListKey key) {
+      return write(
+          out -> {
+            writeString(out, key.repository);
+            writeString(out, key.gerritVersion);
+          });
+    }
+
+    @Override
+    public ListKey deserialize(byte[] in) {
+      return read(in, data -> new ListKey(readString(data), readString(data)));
+    }
+  }
+
+  enum PluginInfoListSerializer implements CacheSerializer<Collection<PluginInfo>> {
+    INSTANCE;
+
+    @Override
+    public byte[] serialize(Collection<PluginInfo> plugins) {
+      return write(
+          out -> {
+            out.writeInt(plugins.size());
+            for (PluginInfo plugin : plugins) {
+              writeString(out, plugin.name);
+              writeString(out, plugin.description);
+              writeString(out, plugin.version);
+              writeString(out, plugin.sha1);
+              writeString(out, plugin.url);
+            }
+          });
+    }
+
+    @Override
+    public Collection<PluginInfo> deserialize(byte[] in) {
+      return read(
+          in,
+          data -> {
+            int size = data.readInt();
+            ImmutableList.Builder<PluginInfo> plugins = ImmutableList.builderWithExpectedSize(size);
+            for (int i = 0; i < size; i++) {
+              plugins.add(
+                  new PluginInfo(
+                      readString(data),
+                      readString(data),
+                      readString(data),
+                      readString(data),
+                      readString(data)));
+            }
+            return plugins.build();
+          });
+    }
+  }
+
+  @FunctionalInterface
+  private interface Writer {
+    void write(DataOutputStream out) throws IOException;
+  }
+
+  @FunctionalInterface
+  private interface Reader<T> {
+    T read(DataInputStream in) throws IOException;
+  }
+
+  private static byte[] write(Writer writer) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeByte(FORMAT_VERSION);
+      writer.write(out);
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to serialize plugins list cache entry", e);
+    }
+    return bytes.toByteArray();
+  }
+
+  private static <T> T read(byte[] in, Reader<T> reader) {
+    try (DataInputStream data = new DataInputStream(new ByteArrayInputStream(in))) {
+      int version = data.readUnsignedByte();
+      if (version != FORMAT_VERSION) {
+        throw new IllegalArgumentException(
+            String.format("Unsupported plugins list cache format version %d", version));
+      }
+      T value = reader.read(data);
+      if (data.available() > 0) {
+        throw new IllegalArgumentException("Trailing bytes in plugins list cache entry");
+      }
+      return value;
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Unable to deserialize plugins list cache entry", e);
+    }
+  }
+
+  /** Writes a length-prefixed UTF-8 string, with a negative length for null. */
+  private static void writeString(DataOutputStream out, @Nullable String value)
+      throws IOException {
+    if (value == null) {
+      out.writeInt(-1);
+      return;
+    }
+    byte[] bytes = value.getBytes(UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  @Nullable
+  private static String readString(DataInputStream in) throws IOException {
+    int length = in.readInt();
+    if (length < 0) {
+      return null;
+    }
+    byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    return new String(bytes, UTF_8);
+  }
+
+  private PluginsListSerializers() {}
+}
@@ -0,0 +1,55 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package com.googlesource.gerrit.plugins.manager;
+
+import com.google.gerrit.common.data.GlobalCapability;
+import com.google.gerrit.extensions.annotations.RequiresCapability;
+import com.google.gerrit.extensions.restapi.ResourceNotFoundException;
+import com.google.gerrit.extensions.restapi.Response;
+import com.google.gerrit.extensions.restapi.RestModifyView;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.googlesource.gerrit.plugins.manager.RefreshAvailablePlugin.Input;
+import com.googlesource.gerrit.plugins.manager.repository.PluginInfo;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Reloads the repository of an available plugin, without waiting for the next scheduled refresh.
+ *
+ * <p>The repositories list all their plugins at once, so the other plugins of the same repository
+ * are reloaded as well.
+ */
+@Singleton
+@RequiresCapability(GlobalCapability.ADMINISTRATE_SERVER)
+public class RefreshAvailablePlugin implements RestModifyView<AvailablePluginResource, Input> {
+  public static class Input {}
+
+  private final PluginsCentralCache pluginsCache;
+
+  @Inject
+  RefreshAvailablePlugin(PluginsCentralCache pluginsCache) {
+    this.pluginsCache = pluginsCache;
+  }
+
+  @Override
+  public Response<PluginInfo> apply(AvailablePluginResource resource, Input input)
+      throws ResourceNotFoundException, ExecutionException {
+    String name = resource.getPlugin().name;
+    return Response.ok(
+        pluginsCache
+            .reload(resource.getSource())
+            .get(name)
+            .orElseThrow(() -> new ResourceNotFoundException(name)));
+  }
+}
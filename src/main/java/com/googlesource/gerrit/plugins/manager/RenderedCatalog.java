@@ -0,0 +1,128 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.manager;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.google.gerrit.json.OutputFormat;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * JSON response listing the plugins of a catalog snapshot, rendered once and served as is until
+ * the snapshot changes. Its pages are rendered once too, when first requested.
+ */
+class RenderedCatalog {
+  private static final String JSON_PREFIX = ")]}'\n";
+
+  /** Maximum number of pages of a snapshot kept rendered, the most recently used ones. */
+  private static final int MAX_RENDERED_PAGES = 64;
+
+  final CatalogSnapshot snapshot;
+  final byte[] json;
+  final byte[] gzip;
+  final String etag;
+  final String gzipEtag;
+
+  /** Hash of the JSON of the whole catalog, tagging its pages too. */
+  private final String hash;
+
+  /** Pages of the catalog rendered so far, shared with the pages. */
+  private final Cache<String, RenderedCatalog> pages;
+
+  private RenderedCatalog(
+      CatalogSnapshot snapshot,
+      byte[] json,
+      byte[] gzip,
+      String hash,
+      String tag,
+      Cache<String, RenderedCatalog> pages) {
+    this.snapshot = snapshot;
+    this.hash = hash;
+    this.pages = pages;
+    this.json = json;
+    this.gzip = gzip;
+    this.etag = "\"" + tag + "\"";
+    this.gzipEtag = "\"" + tag + "-gzip\"";
+  }
+
+  /** Renders the plugins as {@link ListAvailablePlugins} does, through the Gerrit REST API. */
+  static RenderedCatalog render(CatalogSnapshot snapshot) {
+    String body =
+        JSON_PREFIX + OutputFormat.JSON_COMPACT.newGson().toJson(snapshot.pluginsByName()) + "\n";
+    byte[] json = body.getBytes(UTF_8);
+    String hash = Hashing.sha256().hashBytes(json).toString();
+    return new RenderedCatalog(
+        snapshot,
+        json,
+        gzip(json),
+        hash,
+        hash,
+        CacheBuilder.newBuilder().maximumSize(MAX_RENDERED_PAGES).build());
+  }
+
+  /**
+   * Returns a page of the plugins as {@link ListAvailablePlugins} renders it with the {@code
+   * --start} and {@code --limit} options, tagged by the catalog and the page. The page is rendered
+   * on its first request and then served as is, like the catalog.
+   */
+  RenderedCatalog page(int start, int limit) {
+    return pages.asMap().computeIfAbsent(start + "-" + limit, page -> renderPage(start, limit));
+  }
+
+  private RenderedCatalog renderPage(int start, int limit) {
+    String body =
+        JSON_PREFIX
+            + OutputFormat.JSON_COMPACT
+                .newGson()
+                .toJson(ListAvailablePlugins.page(snapshot.plugins().asList(), start, limit, null))
+            + "\n";
+    byte[] json = body.getBytes(UTF_8);
+    return new RenderedCatalog(
+        snapshot, json, gzip(json), hash, hash + "-" + start + "-" + limit, pages);
+  }
+
+  /**
+   * Whether the If-None-Match header of a request matches either representation, comparing the
+   * weak entity tags as the strong ones.
+   */
+  boolean matches(String ifNoneMatch) {
+    for (String tag : ifNoneMatch.split(",")) {
+      String trimmed = tag.trim();
+      if (trimmed.startsWith("W/")) {
+        trimmed = trimmed.substring(2);
+      }
+      if (trimmed.equals("*") || trimmed.equals(etag) || trimmed.equals(gzipEtag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static byte[] gzip(byte[] data) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4);
+    try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+      gzip.write(data);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return out.toByteArray();
+  }
+}
@@ -0,0 +1,115 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.manager;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.gerrit.common.Nullable;
+import com.google.inject.Singleton;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** Outcome of the latest loads of the plugins of every repository since the plugin start. */
+@Singleton
+class RepositoryLoadTracker {
+
+  static class LoadStatus {
+    @Nullable final Instant loadingSince;
+    @Nullable final Instant lastStart;
+    @Nullable final Instant lastEnd;
+    @Nullable final Instant lastSuccess;
+    final int plugins;
+    final long failures;
+    @Nullable final String lastFailure;
+
+    private LoadStatus(
+        @Nullable Instant loadingSince,
+        @Nullable Instant lastStart,
+        @Nullable Instant lastEnd,
+        @Nullable Instant lastSuccess,
+        int plugins,
+        long failures,
+        @Nullable String lastFailure) {
+      this.loadingSince = loadingSince;
+      this.lastStart = lastStart;
+      this.lastEnd = lastEnd;
+      this.lastSuccess = lastSuccess;
+      this.plugins = plugins;
+      this.failures = failures;
+      this.lastFailure = lastFailure;
+    }
+
+    @Nullable
+    Duration lastDuration() {
+      return lastStart != null && lastEnd != null ? Duration.between(lastStart, lastEnd) : null;
+    }
+  }
+
+  private static final LoadStatus NEVER_LOADED =
+      new LoadStatus(null, null, null, null, 0, 0, null);
+
+  private final Map<String, LoadStatus> statuses = new ConcurrentHashMap<>();
+
+  Instant started(String repository) {
+    Instant start = Instant.now();
+    statuses.compute(
+        repository,
+        (r, s) -> {
+          LoadStatus status = s != null ? s : NEVER_LOADED;
+          return new LoadStatus(
+              start,
+              status.lastStart,
+              status.lastEnd,
+              status.lastSuccess,
+              status.plugins,
+              status.failures,
+              status.lastFailure);
+        });
+    return start;
+  }
+
+  void succeeded(String repository, Instant start, int plugins) {
+    Instant end = Instant.now();
+    statuses.compute(
+        repository,
+        (r, s) -> {
+          LoadStatus status = s != null ? s : NEVER_LOADED;
+          return new LoadStatus(
+              null, start, end, end, plugins, status.failures, status.lastFailure);
+        });
+  }
+
+  void failed(String repository, Instant start, Exception error) {
+    Instant end = Instant.now();
+    statuses.compute(
+        repository,
+        (r, s) -> {
+          LoadStatus status = s != null ? s : NEVER_LOADED;
+          return new LoadStatus(
+              null,
+              start,
+              end,
+              status.lastSuccess,
+              status.plugins,
+              status.failures + 1,
+              error.toString());
+        });
+  }
+
+  ImmutableMap<String, LoadStatus> statuses() {
+    return ImmutableMap.copyOf(statuses);
+  }
+}
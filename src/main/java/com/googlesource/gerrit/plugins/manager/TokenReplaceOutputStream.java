@@ -14,6 +14,7 @@
 
 package com.googlesource.gerrit.plugins.manager;
 
+import com.googlesource.gerrit.plugins.manager.jfr.TokenReplaceEvent;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.Arrays;
@@ -53,9 +54,12 @@ public class TokenReplaceOutputStream extends ServletOutputStream {
       return;
     }
 
+    TokenReplaceEvent event = new TokenReplaceEvent();
+    event.begin();
     byte[] outData = outBuff.toByteArray();
     byte[] cmp = new byte[token.length];
     ByteArrayOutputStream convertedData = new ByteArrayOutputStream(outData.length);
+    int replacements = 0;
 
     for (int i = 0; i < outData.length; i++) {
       byte b = outData[i];
@@ -68,8 +72,16 @@ public class TokenReplaceOutputStream extends ServletOutputStream {
       if (Arrays.equals(cmp, token)) {
         convertedData.write(replace);
         i += token.length - 1;
+        replacements++;
       }
     }
+    event.end();
+    if (event.shouldCommit()) {
+      event.bufferedBytes = outData.length;
+      event.rewrittenBytes = convertedData.size();
+      event.replacements = replacements;
+      event.commit();
+    }
 
     resp.setHeader("Content-Length", "" + convertedData.size());
 
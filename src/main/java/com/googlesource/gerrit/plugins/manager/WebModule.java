@@ -22,9 +22,15 @@ public class WebModule extends ServletModule {
   @Override
   protected void configureServlets() {
     bind(AvailablePluginsCollection.class);
+    bind(CatalogStatusCollection.class);
+    bind(PluginUpdatesCollection.class);
     DynamicSet.bind(binder(), WebLoginListener.class).to(FirstWebLoginListener.class);
 
+    // Served before the available plugins, matching the same prefix.
+    serve("/available~status").with(CatalogStatusRestApiServlet.class);
+    serve("/available~updates").with(PluginUpdatesRestApiServlet.class);
     serve("/available*").with(PluginManagerRestApiServlet.class);
+    filter("/available").through(AvailablePluginsFilter.class);
 
     filterRegex(".*plugin-manager\\.js").through(XAuthFilter.class);
   }
@@ -19,23 +19,32 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 import com.google.gerrit.json.OutputFormat;
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.googlesource.gerrit.plugins.manager.http.RepositoryHttpClient;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
-import java.net.MalformedURLException;
-import java.net.URI;
-import java.net.URL;
 
+@Singleton
 public class SmartGson {
 
   private final Gson gson;
+  private final RepositoryHttpClient httpClient;
 
-  public SmartGson() {
+  @Inject
+  public SmartGson(RepositoryHttpClient httpClient) {
     this.gson = OutputFormat.JSON.newGson();
+    this.httpClient = httpClient;
   }
 
   public SmartJson get(String url) throws IOException {
-    return SmartJson.of(gson.fromJson(getReader(url), JsonObject.class));
+    try (Reader reader = getReader(url)) {
+      return SmartJson.of(gson.fromJson(reader, JsonObject.class));
+    }
   }
 
   public SmartJson of(String jsonText) {
@@ -48,13 +57,16 @@ public class SmartGson {
     }
   }
 
-  private InputStreamReader getReader(String url) throws IOException {
-    URL ciUrl;
-    try {
-      ciUrl = URI.create(url).toURL();
-    } catch (MalformedURLException e) {
-      throw new IllegalArgumentException("Internal error: Gerrit CI URL seems to be malformed", e);
+  /** Decodes the JSON at the given URL token by token, using the given type adapter. */
+  public <T> T get(String url, TypeAdapter<T> adapter) throws IOException {
+    try (JsonReader reader = new JsonReader(getReader(url))) {
+      return adapter.read(reader);
+    } catch (IllegalStateException | NumberFormatException e) {
+      throw new JsonSyntaxException("Unexpected JSON from " + url, e);
     }
-    return new InputStreamReader(ciUrl.openStream(), UTF_8);
+  }
+
+  private InputStreamReader getReader(String url) throws IOException {
+    return new InputStreamReader(httpClient.open(url), UTF_8);
   }
 }
@@ -0,0 +1,141 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.manager.http;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Adaptive limit of the concurrent requests sent to a single host.
+ *
+ * <p>The limit grows additively while the response times stay flat and the limit is actually used,
+ * and shrinks multiplicatively when the response times rise compared to their long term average,
+ * or when the host signals an overload with a {@code 429} or {@code 503} status or a timeout.
+ */
+class ConcurrencyLimiter {
+  enum Outcome {
+    /** Response received: its latency is used for adjusting the limit. */
+    SUCCESS,
+    /** The host is overloaded: the limit is halved. */
+    OVERLOAD,
+    /** The request did not complete normally, for reasons unrelated to the load of the host. */
+    DROPPED
+  }
+
+  private static final double LATENCY_TOLERANCE = 2.0;
+  private static final double LATENCY_BACKOFF = 0.9;
+  private static final double OVERLOAD_BACKOFF = 0.5;
+  private static final double SHORT_TERM_WEIGHT = 0.2;
+  private static final double LONG_TERM_WEIGHT = 0.02;
+  private static final int MIN_LIMIT = 1;
+
+  private final int maxLimit;
+  private final AtomicLong rejections = new AtomicLong();
+
+  private double limit;
+  private int inFlight;
+  private double shortTermLatency;
+  private double longTermLatency;
+  private boolean backedOff;
+  private long lastBackoff;
+
+  ConcurrencyLimiter(int initialLimit, int maxLimit) {
+    this.maxLimit = Math.max(MIN_LIMIT, maxLimit);
+    this.limit = Math.max(MIN_LIMIT, Math.min(initialLimit, this.maxLimit));
+  }
+
+  /**
+   * Waits for the number of requests in flight to drop below the limit.
+   *
+   * @return false if the request could not be sent within the timeout.
+   */
+  synchronized boolean acquire(Duration timeout) throws InterruptedException {
+    long deadline = System.nanoTime() + timeout.toNanos();
+    while (inFlight >= (int) limit) {
+      long remaining = deadline - System.nanoTime();
+      if (remaining <= 0) {
+        rejections.incrementAndGet();
+        return false;
+      }
+      wait(Math.max(1, remaining / 1_000_000));
+    }
+    inFlight++;
+    return true;
+  }
+
+  /**
+   * Acquires a slot for an optional request, only if the limit is not reached yet. The optional
+   * requests not sent are not counted as rejections.
+   */
+  synchronized boolean tryAcquire() {
+    if (inFlight >= (int) limit) {
+      return false;
+    }
+    inFlight++;
+    return true;
+  }
+
+  synchronized void release(Duration latency, Outcome outcome) {
+    boolean saturated = inFlight * 2 >= (int) limit;
+    inFlight--;
+
+    switch (outcome) {
+      case OVERLOAD:
+        backoff(OVERLOAD_BACKOFF, latency);
+        break;
+      case SUCCESS:
+        double nanos = latency.toNanos();
+        if (longTermLatency == 0) {
+          shortTermLatency = nanos;
+          longTermLatency = nanos;
+        } else {
+          shortTermLatency += (nanos - shortTermLatency) * SHORT_TERM_WEIGHT;
+          longTermLatency += (nanos - longTermLatency) * LONG_TERM_WEIGHT;
+        }
+
+        if (shortTermLatency > longTermLatency * LATENCY_TOLERANCE) {
+          backoff(LATENCY_BACKOFF, latency);
+        } else if (saturated) {
+          limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+        break;
+      case DROPPED:
+        break;
+    }
+    notifyAll();
+  }
+
+  synchronized int getLimit() {
+    return (int) limit;
+  }
+
+  long getRejections() {
+    return rejections.get();
+  }
+
+  /**
+   * Shrinks the limit at most once per round trip, so that the requests sent before the previous
+   * backoff do not shrink it again.
+   */
+  private void backoff(double ratio, Duration latency) {
+    long now = System.nanoTime();
+    if (backedOff && now - lastBackoff < Math.max(longTermLatency, latency.toNanos())) {
+      return;
+    }
+    backedOff = true;
+    lastBackoff = now;
+    limit = Math.max(MIN_LIMIT, limit * ratio);
+  }
+}
@@ -0,0 +1,88 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.manager.http;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+
+import com.google.common.collect.ImmutableList;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Requests sent to a host since the plugin start, for diagnosing slow listings of plugins. */
+public class HostStats {
+  static final int MAX_SLOWEST = 10;
+
+  public static class SlowRequest {
+    public final String url;
+    public final Duration latency;
+    public final Instant sent;
+
+    SlowRequest(String url, Duration latency, Instant sent) {
+      this.url = url;
+      this.latency = latency;
+      this.sent = sent;
+    }
+  }
+
+  private static final Comparator<SlowRequest> BY_LATENCY =
+      Comparator.comparing(request -> request.latency);
+
+  private final AtomicLong requests = new AtomicLong();
+  private final AtomicLong failures = new AtomicLong();
+  private final AtomicLong bytes = new AtomicLong();
+
+  // Fastest of the slowest requests first, for replacing it with a slower one.
+  private final PriorityQueue<SlowRequest> slowest = new PriorityQueue<>(BY_LATENCY);
+
+  /** Records a request sent, with the bytes of its response body or as failed if none. */
+  void record(String url, Duration latency, long responseBytes, boolean failed) {
+    requests.incrementAndGet();
+    bytes.addAndGet(responseBytes);
+    if (failed) {
+      failures.incrementAndGet();
+    }
+
+    synchronized (slowest) {
+      if (slowest.size() < MAX_SLOWEST) {
+        slowest.add(new SlowRequest(url, latency, Instant.now().minus(latency)));
+      } else if (latency.compareTo(slowest.peek().latency) > 0) {
+        slowest.poll();
+        slowest.add(new SlowRequest(url, latency, Instant.now().minus(latency)));
+      }
+    }
+  }
+
+  public long getRequests() {
+    return requests.get();
+  }
+
+  public long getFailures() {
+    return failures.get();
+  }
+
+  public long getBytes() {
+    return bytes.get();
+  }
+
+  /** Slowest requests sent, slowest first. */
+  public ImmutableList<SlowRequest> getSlowest() {
+    synchronized (slowest) {
+      return slowest.stream().sorted(BY_LATENCY.reversed()).collect(toImmutableList());
+    }
+  }
+}
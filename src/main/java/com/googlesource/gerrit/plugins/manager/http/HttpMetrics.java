@@ -0,0 +1,156 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.manager.http;
+
+import com.google.gerrit.common.Nullable;
+import com.google.gerrit.metrics.CallbackMetric1;
+import com.google.gerrit.metrics.Counter3;
+import com.google.gerrit.metrics.Description;
+import com.google.gerrit.metrics.Description.Units;
+import com.google.gerrit.metrics.Field;
+import com.google.gerrit.metrics.MetricMaker;
+import com.google.gerrit.metrics.Timer2;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import java.net.URI;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/** Metrics of the requests sent to the plugins repositories. */
+@Singleton
+class HttpMetrics {
+  private final MetricMaker metricMaker;
+  private final Field<String> hostField;
+  private final Counter3<String, String, String> requests;
+  private final Timer2<String, String> latency;
+  private final Counter3<String, String, String> responseBytes;
+
+  @Inject
+  HttpMetrics(MetricMaker metricMaker) {
+    this.metricMaker = metricMaker;
+    this.hostField =
+        Field.ofString("host", (metadataBuilder, fieldValue) -> {})
+            .description("Host of the plugins repository")
+            .build();
+    Field<String> endpointField =
+        Field.ofString("endpoint", (metadataBuilder, fieldValue) -> {})
+            .description("Type of endpoint requested: view, api, artifact or other")
+            .build();
+    Field<String> statusField =
+        Field.ofString("status", (metadataBuilder, fieldValue) -> {})
+            .description("HTTP status code of the response, or error or cancelled")
+            .build();
+
+    this.requests =
+        metricMaker.newCounter(
+            "http/requests",
+            new Description("Requests sent to the host").setRate(),
+            hostField,
+            endpointField,
+            statusField);
+    this.latency =
+        metricMaker.newTimer(
+            "http/latency",
+            new Description("Time for receiving the whole response of the host")
+                .setCumulative()
+                .setUnit(Units.MILLISECONDS),
+            hostField,
+            endpointField);
+    this.responseBytes =
+        metricMaker.newCounter(
+            "http/response_bytes",
+            new Description("Bytes of the response bodies received from the host")
+                .setCumulative()
+                .setUnit(Units.BYTES),
+            hostField,
+            endpointField,
+            statusField);
+  }
+
+  /** Records a request sent, with its response or the reason it failed. */
+  void recordRequest(
+      URI uri,
+      @Nullable HttpResponse<byte[]> response,
+      @Nullable Throwable error,
+      Duration elapsed) {
+    String host = uri.getAuthority();
+    String endpoint = endpoint(uri);
+    String status = status(response, error);
+    requests.increment(host, endpoint, status);
+    latency.record(host, endpoint, elapsed);
+    if (response != null && response.body() != null) {
+      responseBytes.incrementBy(host, endpoint, status, response.body().length);
+    }
+  }
+
+  /** Exports the current concurrency limit and the rejected requests of every host. */
+  void registerConcurrencyLimiters(Supplier<Map<String, ConcurrencyLimiter>> limiters) {
+    CallbackMetric1<String, Integer> limit =
+        metricMaker.newCallbackMetric(
+            "http/concurrency_limit",
+            Integer.class,
+            new Description("Current limit of concurrent requests to the host").setGauge(),
+            hostField);
+    CallbackMetric1<String, Long> rejections =
+        metricMaker.newCallbackMetric(
+            "http/concurrency_limit_rejections",
+            Long.class,
+            new Description("Requests to the host not sent because of its concurrency limit")
+                .setCumulative(),
+            hostField);
+
+    metricMaker.newTrigger(
+        limit,
+        () -> {
+          limiters.get().forEach((host, limiter) -> limit.set(host, limiter.getLimit()));
+          limit.prune();
+        });
+    metricMaker.newTrigger(
+        rejections,
+        () -> {
+          limiters.get().forEach((host, limiter) -> rejections.set(host, limiter.getRejections()));
+          rejections.prune();
+        });
+  }
+
+  /** Type of Jenkins endpoint, bounding the number of values of the metrics field. */
+  static String endpoint(URI uri) {
+    String path = uri.getPath() == null ? "" : uri.getPath();
+    if (path.contains("/artifact/")) {
+      return "artifact";
+    }
+    if (path.endsWith("/api/json")) {
+      return path.contains("/view/") ? "view" : "api";
+    }
+    return "other";
+  }
+
+  private static String status(@Nullable HttpResponse<byte[]> response, @Nullable Throwable error) {
+    if (response != null) {
+      return Integer.toString(response.statusCode());
+    }
+    return isCancellation(error) ? "cancelled" : "error";
+  }
+
+  /** Whether the request failed only because it was cancelled, like the hedges not needed. */
+  static boolean isCancellation(@Nullable Throwable error) {
+    Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+    return cause instanceof CancellationException;
+  }
+}
@@ -0,0 +1,296 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.manager.http;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.flogger.FluentLogger;
+import com.google.common.hash.Hashing;
+import com.google.gerrit.common.Nullable;
+import com.google.gerrit.extensions.annotations.PluginData;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.googlesource.gerrit.plugins.manager.PluginManagerConfig;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * On-disk cache of HTTP response bodies, stored together with their {@code ETag} and {@code
+ * Last-Modified} validators so that they can be revalidated with conditional requests.
+ *
+ * <p>The total size of the stored bodies is capped and the least recently used entries are evicted
+ * first.
+ */
+@Singleton
+public class HttpResponseCache {
+  private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+  private static final String CACHE_DIR = "http-cache";
+  private static final String BODY_SUFFIX = ".body";
+  private static final String META_SUFFIX = ".meta";
+
+  public static class Entry {
+    public final String url;
+    @Nullable public final String etag;
+    @Nullable public final String lastModified;
+
+    private final Path body;
+    private final long size;
+
+    private Entry(
+        String url, @Nullable String etag, @Nullable String lastModified, Path body, long size) {
+      this.url = url;
+      this.etag = etag;
+      this.lastModified = lastModified;
+      this.body = body;
+      this.size = size;
+    }
+  }
+
+  public static class Stats {
+    public final long hits;
+    public final long misses;
+    public final long revalidations;
+    public final int entries;
+    public final long size;
+
+    private Stats(long hits, long misses, long revalidations, int entries, long size) {
+      this.hits = hits;
+      this.misses = misses;
+      this.revalidations = revalidations;
+      this.entries = entries;
+      this.size = size;
+    }
+  }
+
+  private final Path cacheDir;
+  private final long maxSize;
+
+  // Access-ordered, so that iteration starts from the least recently used entry.
+  private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private long size;
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong revalidations = new AtomicLong();
+
+  @Inject
+  HttpResponseCache(@PluginData Path pluginData, PluginManagerConfig config) {
+    this(pluginData.resolve(CACHE_DIR), config.getHttpCacheSize());
+  }
+
+  @VisibleForTesting
+  HttpResponseCache(Path cacheDir, long maxSize) {
+    this.cacheDir = cacheDir;
+    this.maxSize = maxSize;
+    load();
+  }
+
+  /** Returns the cached response for the URL, if any, marking it as recently used. */
+  public synchronized Optional<Entry> get(String url) {
+    return Optional.ofNullable(entries.get(key(url)));
+  }
+
+  /**
+   * Opens the cached body of an entry revalidated by the server.
+   *
+   * @return the body or empty if it is no longer available on disk.
+   */
+  public Optional<InputStream> openBody(Entry entry) throws IOException {
+    try {
+      InputStream body = Files.newInputStream(entry.body);
+      hits.incrementAndGet();
+      touch(entry.body);
+      return Optional.of(body);
+    } catch (NoSuchFileException e) {
+      remove(entry);
+      return Optional.empty();
+    }
+  }
+
+  /** Stores a response body, evicting the least recently used entries if needed. */
+  public void put(
+      String url, @Nullable String etag, @Nullable String lastModified, byte[] responseBody) {
+    if (maxSize <= 0 || responseBody.length > maxSize) {
+      return;
+    }
+
+    String key = key(url);
+    Path body = cacheDir.resolve(key + BODY_SUFFIX);
+    Properties meta = new Properties();
+    meta.setProperty("url", url);
+    if (etag != null) {
+      meta.setProperty("etag", etag);
+    }
+    if (lastModified != null) {
+      meta.setProperty("lastModified", lastModified);
+    }
+
+    try {
+      Files.createDirectories(cacheDir);
+      writeAtomically(body, responseBody);
+      Path tmpMeta = Files.createTempFile(cacheDir, key, ".tmp");
+      try (Writer writer = Files.newBufferedWriter(tmpMeta, UTF_8)) {
+        meta.store(writer, null);
+      }
+      Files.move(tmpMeta, cacheDir.resolve(key + META_SUFFIX), REPLACE_EXISTING, ATOMIC_MOVE);
+    } catch (IOException e) {
+      logger.atWarning().withCause(e).log("Unable to cache the response of %s", url);
+      return;
+    }
+
+    synchronized (this) {
+      Entry previous =
+          entries.put(key, new Entry(url, etag, lastModified, body, responseBody.length));
+      if (previous != null) {
+        size -= previous.size;
+      }
+      size += responseBody.length;
+      evict();
+    }
+  }
+
+  public void recordMiss() {
+    misses.incrementAndGet();
+  }
+
+  public void recordRevalidation() {
+    revalidations.incrementAndGet();
+  }
+
+  public synchronized Stats stats() {
+    return new Stats(hits.get(), misses.get(), revalidations.get(), entries.size(), size);
+  }
+
+  private synchronized void remove(Entry entry) {
+    String key = key(entry.url);
+    if (entries.get(key) == entry) {
+      entries.remove(key);
+      size -= entry.size;
+      delete(key);
+    }
+  }
+
+  private void evict() {
+    Iterator<Map.Entry<String, Entry>> lru = entries.entrySet().iterator();
+    while (size > maxSize && lru.hasNext()) {
+      Map.Entry<String, Entry> eldest = lru.next();
+      size -= eldest.getValue().size;
+      lru.remove();
+      delete(eldest.getKey());
+    }
+  }
+
+  private void delete(String key) {
+    try {
+      Files.deleteIfExists(cacheDir.resolve(key + META_SUFFIX));
+      Files.deleteIfExists(cacheDir.resolve(key + BODY_SUFFIX));
+    } catch (IOException e) {
+      logger.atWarning().withCause(e).log("Unable to delete cached response %s", key);
+    }
+  }
+
+  /** Keeps the on-disk last access order, used for restoring the LRU order after a restart. */
+  private static void touch(Path body) {
+    try {
+      Files.setLastModifiedTime(body, FileTime.from(Instant.now()));
+    } catch (IOException e) {
+      logger.atFine().withCause(e).log("Unable to update the access time of %s", body);
+    }
+  }
+
+  private void writeAtomically(Path target, byte[] content) throws IOException {
+    Path tmp = Files.createTempFile(cacheDir, target.getFileName().toString(), ".tmp");
+    try {
+      Files.write(tmp, content);
+      Files.move(tmp, target, REPLACE_EXISTING, ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(tmp);
+    }
+  }
+
+  private synchronized void load() {
+    if (!Files.isDirectory(cacheDir)) {
+      return;
+    }
+
+    List<Entry> loaded = new ArrayList<>();
+    Map<Entry, FileTime> lastUsed = new HashMap<>();
+    try (DirectoryStream<Path> metaFiles =
+        Files.newDirectoryStream(cacheDir, "*" + META_SUFFIX)) {
+      for (Path metaFile : metaFiles) {
+        String fileName = metaFile.getFileName().toString();
+        String key = fileName.substring(0, fileName.length() - META_SUFFIX.length());
+        Path body = cacheDir.resolve(key + BODY_SUFFIX);
+        Properties meta = new Properties();
+        try (Reader reader = Files.newBufferedReader(metaFile, UTF_8)) {
+          meta.load(reader);
+          String url = meta.getProperty("url");
+          if (url == null || !key.equals(key(url)) || !Files.exists(body)) {
+            delete(key);
+            continue;
+          }
+          Entry entry =
+              new Entry(
+                  url,
+                  meta.getProperty("etag"),
+                  meta.getProperty("lastModified"),
+                  body,
+                  Files.size(body));
+          loaded.add(entry);
+          lastUsed.put(entry, Files.getLastModifiedTime(body));
+        } catch (IOException | IllegalArgumentException e) {
+          logger.atWarning().withCause(e).log("Discarding unreadable cached response %s", key);
+          delete(key);
+        }
+      }
+    } catch (IOException e) {
+      logger.atWarning().withCause(e).log("Unable to load the HTTP cache from %s", cacheDir);
+      return;
+    }
+
+    loaded.sort(Comparator.comparing(lastUsed::get));
+    for (Entry entry : loaded) {
+      entries.put(key(entry.url), entry);
+      size += entry.size;
+    }
+    evict();
+  }
+
+  private static String key(String url) {
+    return Hashing.sha256().hashString(url, UTF_8).toString();
+  }
+}
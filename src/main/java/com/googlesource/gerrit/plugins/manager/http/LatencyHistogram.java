@@ -0,0 +1,89 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.manager.http;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Histogram of the response times of a single host, with exponentially growing buckets.
+ *
+ * <p>Counts are halved once the histogram is full, so that the percentiles follow the recent
+ * behaviour of the host rather than its whole history.
+ */
+class LatencyHistogram {
+  static final int MIN_SAMPLES = 20;
+
+  private static final int MAX_SAMPLES = 1000;
+  private static final long[] BUCKET_LIMITS_MS = bucketLimits(1, 120_000);
+
+  private final long[] counts = new long[BUCKET_LIMITS_MS.length];
+  private long total;
+
+  synchronized void record(Duration latency) {
+    long millis = latency.toMillis();
+    int bucket = 0;
+    while (bucket < BUCKET_LIMITS_MS.length - 1 && millis > BUCKET_LIMITS_MS[bucket]) {
+      bucket++;
+    }
+    counts[bucket]++;
+    total++;
+
+    if (total >= MAX_SAMPLES) {
+      total = 0;
+      for (int i = 0; i < counts.length; i++) {
+        counts[i] /= 2;
+        total += counts[i];
+      }
+    }
+  }
+
+  /**
+   * Returns the upper bound of the bucket holding the given percentile of the recorded latencies.
+   *
+   * @return the latency or empty if there are not enough samples for a meaningful estimate.
+   */
+  synchronized Optional<Duration> percentile(int percentile) {
+    if (total < MIN_SAMPLES) {
+      return Optional.empty();
+    }
+
+    long rank = (total * percentile + 99) / 100;
+    long seen = 0;
+    for (int bucket = 0; bucket < counts.length; bucket++) {
+      seen += counts[bucket];
+      if (seen >= rank) {
+        return Optional.of(Duration.ofMillis(BUCKET_LIMITS_MS[bucket]));
+      }
+    }
+    return Optional.of(Duration.ofMillis(BUCKET_LIMITS_MS[BUCKET_LIMITS_MS.length - 1]));
+  }
+
+  /** Bucket limits growing by a factor of sqrt(2), for an error of at most ~41% on a percentile. */
+  private static long[] bucketLimits(long min, long max) {
+    int buckets = 1;
+    for (double limit = min; limit < max; limit *= Math.sqrt(2)) {
+      buckets++;
+    }
+
+    long[] limits = new long[buckets];
+    double limit = min;
+    for (int i = 0; i < buckets; i++) {
+      limits[i] = Math.min(max, Math.round(Math.ceil(limit)));
+      limit *= Math.sqrt(2);
+    }
+    return limits;
+  }
+}
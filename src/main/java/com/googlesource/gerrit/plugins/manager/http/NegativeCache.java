@@ -0,0 +1,157 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.manager.http;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Strings;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.googlesource.gerrit.plugins.manager.PluginManagerConfig;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Failed requests, keyed by URL, which are not sent again until their backoff expires.
+ *
+ * <p>The backoff doubles at every consecutive failure of the same URL, up to a maximum, so that
+ * jobs or artifacts which stay broken for a long time are only retried occasionally.
+ */
+@Singleton
+public class NegativeCache {
+  private static final int MAX_ENTRIES = 10_000;
+
+  public static class Entry {
+    public final String url;
+    public final boolean notFound;
+    public final String error;
+    public final int failures;
+    public final Instant lastFailure;
+    public final Instant retryAfter;
+
+    private Entry(
+        String url,
+        boolean notFound,
+        String error,
+        int failures,
+        Instant lastFailure,
+        Instant retryAfter) {
+      this.url = url;
+      this.notFound = notFound;
+      this.error = error;
+      this.failures = failures;
+      this.lastFailure = lastFailure;
+      this.retryAfter = retryAfter;
+    }
+  }
+
+  private final Duration initialBackoff;
+  private final Duration maxBackoff;
+  private final Clock clock;
+  private final Cache<String, Entry> failures;
+
+  @Inject
+  NegativeCache(PluginManagerConfig config) {
+    this(config.getFailureBackoff(), config.getMaxFailureBackoff(), Clock.systemUTC());
+  }
+
+  @VisibleForTesting
+  NegativeCache(Duration initialBackoff, Duration maxBackoff, Clock clock) {
+    this.initialBackoff = initialBackoff;
+    this.maxBackoff = maxBackoff.compareTo(initialBackoff) < 0 ? initialBackoff : maxBackoff;
+    this.clock = clock;
+    // Entries outlive their backoff, for growing it on the next failure, but are eventually
+    // forgotten if the URL is never requested again.
+    this.failures =
+        CacheBuilder.newBuilder()
+            .maximumSize(MAX_ENTRIES)
+            .expireAfterWrite(this.maxBackoff.multipliedBy(2))
+            .build();
+  }
+
+  /**
+   * Checks whether a request to the URL can be sent.
+   *
+   * @throws RequestBackoffException if the URL failed recently and its backoff has not expired.
+   */
+  public void check(String url) throws RequestBackoffException {
+    Entry entry = failures.getIfPresent(url);
+    if (entry != null && clock.instant().isBefore(entry.retryAfter)) {
+      throw new RequestBackoffException(entry);
+    }
+  }
+
+  /**
+   * Records a failed request, backing off the URL.
+   *
+   * <p>Failures of the client itself, like a request rejected by the concurrency limit of its host
+   * or not answered within the request timeout, are ignored: they tell nothing about the URL and
+   * backing it off would drop its plugin from the list for no reason.
+   */
+  public void recordFailure(String url, IOException error) {
+    if (!isFailureOf(error)) {
+      return;
+    }
+    Entry previous = failures.getIfPresent(url);
+    int count = previous == null ? 1 : previous.failures + 1;
+    Instant now = clock.instant();
+    failures.put(
+        url,
+        new Entry(
+            url,
+            error instanceof FileNotFoundException,
+            Strings.nullToEmpty(error.getMessage()),
+            count,
+            now,
+            now.plus(backoff(count))));
+  }
+
+  public void recordSuccess(String url) {
+    failures.invalidate(url);
+  }
+
+  /** Returns the failed URLs, most recently failed first. */
+  public List<Entry> entries() {
+    return failures.asMap().values().stream()
+        .sorted(Comparator.comparing((Entry e) -> e.lastFailure).reversed())
+        .collect(ImmutableList.toImmutableList());
+  }
+
+  private static boolean isFailureOf(IOException error) {
+    if (error instanceof RequestRejectedException) {
+      return false;
+    }
+    // Connection timeouts are failures of the network, not of the client.
+    return !(error instanceof HttpTimeoutException)
+        || error instanceof HttpConnectTimeoutException;
+  }
+
+  private Duration backoff(int count) {
+    Duration backoff = initialBackoff;
+    for (int i = 1; i < count && backoff.compareTo(maxBackoff) < 0; i++) {
+      backoff = backoff.multipliedBy(2);
+    }
+    return backoff.compareTo(maxBackoff) < 0 ? backoff : maxBackoff;
+  }
+}
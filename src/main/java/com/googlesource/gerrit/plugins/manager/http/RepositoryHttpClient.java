@@ -0,0 +1,393 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.manager.http;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import com.google.gerrit.common.Nullable;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.googlesource.gerrit.plugins.manager.PluginManagerConfig;
+import com.googlesource.gerrit.plugins.manager.jfr.HttpFetchEvent;
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * HTTP client shared by all the plugins repositories for fetching the plugins metadata.
+ *
+ * <p>Connections are pooled and kept alive across requests, negotiating HTTP/2 when supported by
+ * the server. Every request is bounded by the configured timeout, so that an unresponsive server
+ * cannot block the caller indefinitely.
+ *
+ * <p>When hedging is enabled, a request slower than the configured percentile of the recent
+ * response times of its host is sent a second time, and the first response received is used. The
+ * number of hedged requests is capped to a percentage of all the requests sent.
+ *
+ * <p>The number of concurrent requests to each host is adapted to its response times: it grows
+ * while they stay flat and shrinks when they rise, or when the host reports being overloaded.
+ */
+@Singleton
+public class RepositoryHttpClient {
+  private static final int HTTP_TOO_MANY_REQUESTS = 429;
+
+  private static class Host {
+    final LatencyHistogram latency;
+    final ConcurrencyLimiter limiter;
+    final HostStats stats = new HostStats();
+
+    Host(LatencyHistogram latency, ConcurrencyLimiter limiter) {
+      this.latency = latency;
+      this.limiter = limiter;
+    }
+  }
+
+  private final HttpResponseCache cache;
+  private final NegativeCache negativeCache;
+  private final HttpMetrics metrics;
+  private final HttpClient client;
+  private final Duration requestTimeout;
+  private final boolean hedgeRequests;
+  private final int hedgePercentile;
+  private final int hedgeBudget;
+
+  private final int initialLimit;
+  private final int maxLimit;
+
+  private final ConcurrentMap<String, Host> hosts = new ConcurrentHashMap<>();
+  private final AtomicLong requests = new AtomicLong();
+  private final AtomicLong hedgedRequests = new AtomicLong();
+
+  @Inject
+  RepositoryHttpClient(
+      HttpResponseCache cache,
+      NegativeCache negativeCache,
+      HttpMetrics metrics,
+      PluginManagerConfig config) {
+    this.cache = cache;
+    this.negativeCache = negativeCache;
+    this.metrics = metrics;
+    this.requestTimeout = config.getRequestTimeout();
+    this.hedgeRequests = config.isHedgeRequestsEnabled();
+    this.hedgePercentile = config.getHedgePercentile();
+    this.hedgeBudget = config.getHedgeBudget();
+    this.maxLimit = config.getMaxConcurrentRequests();
+    this.initialLimit = Math.min(config.getFetchThreads(), maxLimit);
+    this.client =
+        HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .connectTimeout(config.getConnectTimeout())
+            .build();
+    metrics.registerConcurrencyLimiters(
+        () -> Maps.transformValues(ImmutableMap.copyOf(hosts), host -> host.limiter));
+  }
+
+  /**
+   * Opens the body of the resource at the given URL.
+   *
+   * <p>Responses carrying an {@code ETag} or {@code Last-Modified} validator are cached on disk
+   * and revalidated with a conditional request on the next fetch.
+   *
+   * <p>URLs failing on the server or the network are not requested again until their backoff
+   * expires.
+   *
+   * @throws FileNotFoundException if the resource does not exist.
+   * @throws RequestBackoffException if the URL failed recently and is still backing off.
+   * @throws RequestRejectedException if too many requests to the host are already in flight.
+   */
+  public InputStream open(String url) throws IOException {
+    negativeCache.check(url);
+    try {
+      InputStream body = fetch(url);
+      negativeCache.recordSuccess(url);
+      return body;
+    } catch (InterruptedIOException e) {
+      throw e;
+    } catch (IOException e) {
+      negativeCache.recordFailure(url, e);
+      throw e;
+    }
+  }
+
+  /** Requests sent to every host since the plugin start, by host. */
+  public ImmutableMap<String, HostStats> hostStats() {
+    return ImmutableMap.copyOf(Maps.transformValues(hosts, host -> host.stats));
+  }
+
+  private InputStream fetch(String url) throws IOException {
+    HttpFetchEvent event = new HttpFetchEvent();
+    event.begin();
+    try {
+      return fetch(url, event);
+    } finally {
+      event.end();
+      if (event.shouldCommit()) {
+        event.url = url;
+        event.endpoint = HttpMetrics.endpoint(toUri(url));
+        event.commit();
+      }
+    }
+  }
+
+  private InputStream fetch(String url, HttpFetchEvent event) throws IOException {
+    Optional<HttpResponseCache.Entry> cached = cache.get(url);
+    HttpResponse<byte[]> response = send(newRequest(url, cached));
+    event.status = response.statusCode();
+
+    if (response.statusCode() == HttpURLConnection.HTTP_NOT_MODIFIED && cached.isPresent()) {
+      Optional<InputStream> body = cache.openBody(cached.get());
+      if (body.isPresent()) {
+        event.cached = true;
+        return body.get();
+      }
+      response = send(newRequest(url, Optional.empty()));
+      event.status = response.statusCode();
+    }
+    event.bytes = response.body() != null ? response.body().length : 0;
+
+    int status = response.statusCode();
+    if (status == HttpURLConnection.HTTP_NOT_FOUND || status == HttpURLConnection.HTTP_GONE) {
+      throw new FileNotFoundException(url);
+    }
+    if (status >= HttpURLConnection.HTTP_BAD_REQUEST) {
+      throw new IOException(String.format("HTTP %d fetching %s", status, url));
+    }
+
+    cache.recordMiss();
+    byte[] body = decode(response);
+    Optional<String> etag = response.headers().firstValue("ETag");
+    Optional<String> lastModified = response.headers().firstValue("Last-Modified");
+    if (etag.isPresent() || lastModified.isPresent()) {
+      cache.put(url, etag.orElse(null), lastModified.orElse(null), body);
+    }
+    return new ByteArrayInputStream(body);
+  }
+
+  private HttpRequest newRequest(String url, Optional<HttpResponseCache.Entry> cached) {
+    HttpRequest.Builder request =
+        HttpRequest.newBuilder(toUri(url))
+            .timeout(requestTimeout)
+            .header("Accept-Encoding", "gzip")
+            .GET();
+    if (cached.isPresent()) {
+      HttpResponseCache.Entry entry = cached.get();
+      if (entry.etag != null) {
+        request.header("If-None-Match", entry.etag);
+      }
+      if (entry.lastModified != null) {
+        request.header("If-Modified-Since", entry.lastModified);
+      }
+      cache.recordRevalidation();
+    }
+    return request.build();
+  }
+
+  /** Sends the request, bounding the time for receiving the whole response body. */
+  private HttpResponse<byte[]> send(HttpRequest request) throws IOException {
+    CompletableFuture<HttpResponse<byte[]>> response = sendHedged(request);
+    try {
+      return response.get(requestTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      response.cancel(true);
+      throw new HttpTimeoutException(
+          String.format("Timeout after %s fetching %s", requestTimeout, request.uri()));
+    } catch (InterruptedException e) {
+      response.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while fetching " + request.uri());
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new IOException("Unable to fetch " + request.uri(), e.getCause());
+    }
+  }
+
+  /**
+   * Sends the request and, if it is still pending after the hedging delay of its host, sends it
+   * again. The returned future completes with the first response without server error, or with the
+   * error or the server error response of the last pending request.
+   */
+  private CompletableFuture<HttpResponse<byte[]>> sendHedged(HttpRequest request)
+      throws IOException {
+    requests.incrementAndGet();
+    Host host = hosts.computeIfAbsent(request.uri().getAuthority(), this::newHost);
+    try {
+      if (!host.limiter.acquire(requestTimeout)) {
+        throw new RequestRejectedException(
+            String.format("Too many concurrent requests to %s", request.uri().getAuthority()));
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while fetching " + request.uri());
+    }
+
+    CompletableFuture<HttpResponse<byte[]>> primary = sendTimed(request, host);
+    Optional<Duration> hedgeDelay = hedgeDelay(host);
+    if (!hedgeDelay.isPresent()) {
+      return primary;
+    }
+
+    CompletableFuture<HttpResponse<byte[]>> first = new CompletableFuture<>();
+    AtomicInteger pending = new AtomicInteger(1);
+    completeFirst(primary, first, pending);
+    CompletableFuture.delayedExecutor(hedgeDelay.get().toMillis(), TimeUnit.MILLISECONDS)
+        .execute(
+            () -> {
+              if (first.isDone() || !host.limiter.tryAcquire()) {
+                return;
+              }
+              if (!tryAcquireHedge()) {
+                host.limiter.release(Duration.ZERO, ConcurrencyLimiter.Outcome.DROPPED);
+                return;
+              }
+              pending.incrementAndGet();
+              CompletableFuture<HttpResponse<byte[]>> hedge = sendTimed(request, host);
+              completeFirst(hedge, first, pending);
+              first.whenComplete((r, e) -> hedge.cancel(true));
+            });
+    first.whenComplete((r, e) -> primary.cancel(true));
+    return first;
+  }
+
+  /**
+   * Sends a request holding a slot of the concurrency limiter of the host, and releases it with
+   * the outcome of the request once completed. Every request is recorded in the metrics,
+   * including the hedged ones.
+   */
+  private CompletableFuture<HttpResponse<byte[]>> sendTimed(HttpRequest request, Host host) {
+    long start = System.nanoTime();
+    CompletableFuture<HttpResponse<byte[]>> response =
+        client.sendAsync(request, BodyHandlers.ofByteArray());
+    response.whenComplete(
+        (r, error) -> {
+          Duration latency = Duration.ofNanos(System.nanoTime() - start);
+          if (r != null) {
+            host.latency.record(latency);
+          }
+          metrics.recordRequest(request.uri(), r, error, latency);
+          host.stats.record(
+              request.uri().toString(),
+              latency,
+              r != null && r.body() != null ? r.body().length : 0,
+              r != null
+                  ? r.statusCode() >= HttpURLConnection.HTTP_BAD_REQUEST
+                  : !HttpMetrics.isCancellation(error));
+          host.limiter.release(latency, outcome(r, error, latency));
+        });
+    return response;
+  }
+
+  private ConcurrencyLimiter.Outcome outcome(
+      @Nullable HttpResponse<byte[]> response, @Nullable Throwable error, Duration latency) {
+    if (response != null) {
+      int status = response.statusCode();
+      return status == HTTP_TOO_MANY_REQUESTS || status == HttpURLConnection.HTTP_UNAVAILABLE
+          ? ConcurrencyLimiter.Outcome.OVERLOAD
+          : ConcurrencyLimiter.Outcome.SUCCESS;
+    }
+    if (error instanceof HttpTimeoutException || latency.compareTo(requestTimeout) >= 0) {
+      return ConcurrencyLimiter.Outcome.OVERLOAD;
+    }
+    return ConcurrencyLimiter.Outcome.DROPPED;
+  }
+
+  private Host newHost(String authority) {
+    return new Host(new LatencyHistogram(), new ConcurrencyLimiter(initialLimit, maxLimit));
+  }
+
+  private Optional<Duration> hedgeDelay(Host host) {
+    if (!hedgeRequests) {
+      return Optional.empty();
+    }
+    return host.latency
+        .percentile(hedgePercentile)
+        .filter(delay -> delay.compareTo(requestTimeout) < 0);
+  }
+
+  private boolean tryAcquireHedge() {
+    long hedged;
+    do {
+      hedged = hedgedRequests.get();
+      if (hedged * 100 >= requests.get() * hedgeBudget) {
+        return false;
+      }
+    } while (!hedgedRequests.compareAndSet(hedged, hedged + 1));
+    return true;
+  }
+
+  /**
+   * Completes the first response of the attempts with the attempt, unless it failed with an error
+   * or a server error while other attempts are still pending and may succeed.
+   */
+  @VisibleForTesting
+  static void completeFirst(
+      CompletableFuture<HttpResponse<byte[]>> attempt,
+      CompletableFuture<HttpResponse<byte[]>> first,
+      AtomicInteger pending) {
+    attempt.whenComplete(
+        (response, error) -> {
+          if (error == null && response.statusCode() < HttpURLConnection.HTTP_INTERNAL_ERROR) {
+            first.complete(response);
+          } else if (pending.decrementAndGet() == 0) {
+            if (error == null) {
+              first.complete(response);
+            } else {
+              first.completeExceptionally(error);
+            }
+          }
+        });
+  }
+
+  private static byte[] decode(HttpResponse<byte[]> response) throws IOException {
+    String contentEncoding = response.headers().firstValue("Content-Encoding").orElse("");
+    if (!contentEncoding.equalsIgnoreCase("gzip")) {
+      return response.body();
+    }
+    try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+      return in.readAllBytes();
+    }
+  }
+
+  private static URI toUri(String url) {
+    try {
+      return URI.create(url);
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Internal error: Gerrit CI URL seems to be malformed", e);
+    }
+  }
+}
@@ -0,0 +1,39 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.manager.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Merge of the plugins of the repositories into a new catalog snapshot. */
+@Name("com.googlesource.gerrit.plugins.manager.CatalogMerge")
+@Label("Catalog Merge")
+@Category({"Gerrit", "Plugin Manager"})
+public final class CatalogMergeEvent extends Event {
+  @Label("Sources")
+  @Description("Repositories whose plugins were merged")
+  public int sources;
+
+  @Label("Source Plugins")
+  @Description("Plugins of all the repositories, before merging")
+  public int sourcePlugins;
+
+  @Label("Plugins")
+  @Description("Plugins of the snapshot, keeping the latest version of each plugin")
+  public int plugins;
+}
@@ -0,0 +1,48 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.manager.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Resource fetched from a plugins repository, either downloaded or revalidated from the cache. */
+@Name("com.googlesource.gerrit.plugins.manager.HttpFetch")
+@Label("Plugins Repository Fetch")
+@Category({"Gerrit", "Plugin Manager"})
+public final class HttpFetchEvent extends Event {
+  @Label("URL")
+  public String url;
+
+  @Label("Endpoint")
+  @Description("Type of endpoint: view, api, artifact or other")
+  public String endpoint;
+
+  @Label("Status")
+  @Description("HTTP status code of the last response, or 0 if none was received")
+  public int status;
+
+  @Label("Cached")
+  @Description("Whether the body was served from the cache after revalidation")
+  public boolean cached;
+
+  @Label("Bytes")
+  @Description("Bytes of the body received")
+  @DataAmount
+  public long bytes;
+}
@@ -0,0 +1,38 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.manager.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Replacement of the tokens of a static resource served by the plugin. */
+@Name("com.googlesource.gerrit.plugins.manager.TokenReplace")
+@Label("Token Replace")
+@Category({"Gerrit", "Plugin Manager"})
+public final class TokenReplaceEvent extends Event {
+  @Label("Buffered Bytes")
+  @DataAmount
+  public long bufferedBytes;
+
+  @Label("Rewritten Bytes")
+  @DataAmount
+  public long rewrittenBytes;
+
+  @Label("Replacements")
+  public int replacements;
+}
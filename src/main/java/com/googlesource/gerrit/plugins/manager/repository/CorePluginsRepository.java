@@ -15,79 +15,136 @@
 package com.googlesource.gerrit.plugins.manager.repository;
 
 import static com.google.common.collect.ImmutableList.toImmutableList;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 import static java.util.Comparator.comparing;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import com.google.common.flogger.FluentLogger;
+import com.google.common.hash.Hashing;
+import com.google.common.io.MoreFiles;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gerrit.common.Nullable;
 import com.google.gerrit.common.Version;
+import com.google.gerrit.extensions.annotations.PluginData;
 import com.google.gerrit.server.config.SitePaths;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
 import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.googlesource.gerrit.plugins.manager.jfr.CorePluginScanEvent;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Objects;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.jar.Attributes;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
-import java.util.jar.JarInputStream;
-import java.util.jar.Manifest;
 
+@Singleton
 public class CorePluginsRepository implements PluginsRepository {
   private static final FluentLogger logger = FluentLogger.forEnclosingClass();
   private static final String GERRIT_VERSION = Version.getVersion();
+  private static final String CACHE_FILE = "core-plugins.json";
+  private static final Gson GSON = new Gson();
+  private static final int SCAN_THREADS =
+      Math.min(4, Runtime.getRuntime().availableProcessors());
 
   private final CorePluginsDescriptions pluginsDescriptions;
   private final String gerritWarUri;
   private final Path siteGerritWar;
+  @Nullable private final Path cacheFile;
   private static final char WINDOWS_FILE_SEPARATOR = '\\';
   private static final char UNIX_FILE_SEPARATOR = '/';
 
+  /** Plugins found in the war, together with the war's fingerprint. */
+  private static class ScannedWar {
+    // Incremented whenever the layout of the cache file changes, so that the files in an older
+    // layout are scanned again instead of being misread.
+    static final int CURRENT_FORMAT = 1;
+
+    int format;
+    long size;
+    long lastModified;
+    String sha256;
+    List<ScannedPlugin> plugins;
+
+    ScannedWar(long size, long lastModified, String sha256, List<ScannedPlugin> plugins) {
+      this.format = CURRENT_FORMAT;
+      this.size = size;
+      this.lastModified = lastModified;
+      this.sha256 = sha256;
+      this.plugins = plugins;
+    }
+  }
+
+  private static class ScannedPlugin {
+    String name;
+    String version;
+    String url;
+
+    ScannedPlugin(String name, String version, String url) {
+      this.name = name;
+      this.version = version;
+      this.url = url;
+    }
+  }
+
+  private volatile ScannedWar scannedWar;
+
   @Inject
-  public CorePluginsRepository(SitePaths site, CorePluginsDescriptions pd) {
-    this(site.gerrit_war, site.gerrit_war.toString(), pd);
+  CorePluginsRepository(SitePaths site, CorePluginsDescriptions pd, @PluginData Path pluginData) {
+    this(site.gerrit_war, site.gerrit_war.toString(), pd, pluginData.resolve(CACHE_FILE));
   }
 
   @VisibleForTesting
   public CorePluginsRepository(Path siteGerritWar, String gerritWar, CorePluginsDescriptions pd) {
+    this(siteGerritWar, gerritWar, pd, null);
+  }
+
+  @VisibleForTesting
+  CorePluginsRepository(
+      Path siteGerritWar, String gerritWar, CorePluginsDescriptions pd, @Nullable Path cacheFile) {
     this.pluginsDescriptions = pd;
     final String normalizedWar = gerritWar.replace(WINDOWS_FILE_SEPARATOR, UNIX_FILE_SEPARATOR);
     this.gerritWarUri = Path.of(normalizedWar).toUri().toString();
     this.siteGerritWar = siteGerritWar;
+    this.cacheFile = cacheFile;
   }
 
   @Nullable
-  private PluginInfo extractPluginInfoFromJarEntry(JarEntry entry) {
+  private ScannedPlugin extractPluginInfoFromJarEntry(JarFile gerritWar, JarEntry entry)
+      throws IOException {
     try {
       Path entryName = Path.of(entry.getName());
       URI pluginUrl = new URI("jar:" + gerritWarUri + "!/" + entry.getName());
-      try (JarInputStream pluginJar = new JarInputStream(pluginUrl.toURL().openStream())) {
-        return getManifestEntry(pluginJar)
-            .map(
-                m -> {
-                  Attributes pluginAttributes = m.getMainAttributes();
-                  String pluginName = pluginAttributes.getValue("Gerrit-PluginName");
-                  return new PluginInfo(
-                      pluginName,
-                      pluginsDescriptions.get(pluginName).orElse(""),
-                      pluginAttributes.getValue("Implementation-Version"),
-                      "",
-                      pluginUrl.toString());
-                })
-            .orElseGet(
-                () ->
-                    new PluginInfo(
-                        dropSuffix(entryName.getFileName().toString(), ".jar"),
-                        "",
-                        "",
-                        "",
-                        pluginUrl.toString()));
-      } catch (IOException e) {
-        logger.atSevere().withCause(e).log("Unable to open plugin %s", pluginUrl);
-        return null;
+      CorePluginScanEvent event = new CorePluginScanEvent();
+      event.begin();
+      try (InputStream pluginJar = gerritWar.getInputStream(entry)) {
+        ScannedPlugin plugin = readPlugin(pluginJar, entryName, pluginUrl);
+        event.end();
+        if (event.shouldCommit()) {
+          event.jar = entry.getName();
+          event.plugin = plugin.name;
+          event.bytes = entry.getSize();
+          event.commit();
+        }
+        return plugin;
       }
     } catch (URISyntaxException e) {
       logger.atSevere().withCause(e).log("Invalid plugin filename");
@@ -95,22 +152,34 @@ public class CorePluginsRepository implements PluginsRepository {
     }
   }
 
+  private ScannedPlugin readPlugin(InputStream jar, Path entryName, URI pluginUrl)
+      throws IOException {
+    return JarManifestReader.read(jar)
+        .map(
+            m -> {
+              Attributes pluginAttributes = m.getMainAttributes();
+              return new ScannedPlugin(
+                  pluginAttributes.getValue("Gerrit-PluginName"),
+                  pluginAttributes.getValue("Implementation-Version"),
+                  pluginUrl.toString());
+            })
+        .orElseGet(
+            () ->
+                new ScannedPlugin(
+                    dropSuffix(entryName.getFileName().toString(), ".jar"),
+                    "",
+                    pluginUrl.toString()));
+  }
+
   private String dropSuffix(String string, String suffix) {
     return string.endsWith(suffix)
         ? string.substring(0, string.length() - suffix.length())
         : string;
   }
 
-  @Nullable
-  private static Optional<Manifest> getManifestEntry(JarInputStream pluginJar) throws IOException {
-    for (JarEntry entry = pluginJar.getNextJarEntry();
-        entry != null;
-        entry = pluginJar.getNextJarEntry()) {
-      if (entry.getName().equals(JarFile.MANIFEST_NAME)) {
-        return Optional.of(new Manifest(pluginJar));
-      }
-    }
-    return Optional.empty();
+  @Override
+  public String name() {
+    return "core";
   }
 
   @Override
@@ -128,13 +197,126 @@ public class CorePluginsRepository implements PluginsRepository {
       return ImmutableList.of();
     }
 
+    return getScannedWar().plugins.stream()
+        .map(
+            p ->
+                new PluginInfo(
+                    p.name, pluginsDescriptions.get(p.name).orElse(""), p.version, "", p.url))
+        .sorted(comparing(p -> p.name))
+        .collect(toImmutableList());
+  }
+
+  /**
+   * Returns the plugins of the war, scanning it only if it changed since it was last scanned.
+   *
+   * <p>The war is identified by its size and modification time, falling back to its content hash
+   * when they change, so that a war copied again without changes is not rescanned.
+   */
+  private ScannedWar getScannedWar() throws IOException {
+    BasicFileAttributes war = Files.readAttributes(siteGerritWar, BasicFileAttributes.class);
+    long size = war.size();
+    long lastModified = war.lastModifiedTime().toMillis();
+
+    ScannedWar scanned = scannedWar != null ? scannedWar : readCache().orElse(null);
+    if (scanned != null && scanned.size == size && scanned.lastModified == lastModified) {
+      scannedWar = scanned;
+      return scanned;
+    }
+
+    String sha256 = MoreFiles.asByteSource(siteGerritWar).hash(Hashing.sha256()).toString();
+    List<String> unreadable = new ArrayList<>();
+    List<ScannedPlugin> plugins =
+        scanned != null && scanned.size == size && sha256.equals(scanned.sha256)
+            ? scanned.plugins
+            : scan(unreadable);
+    scanned = new ScannedWar(size, lastModified, sha256, plugins);
+    if (!unreadable.isEmpty()) {
+      // Neither stored nor kept, so that the war is scanned again on the next load instead of
+      // serving its incomplete list of plugins until it changes.
+      logger.atWarning().log(
+          "Plugins %s of %s could not be read, scanning the war again on the next load",
+          unreadable, siteGerritWar);
+      return scanned;
+    }
+    writeCache(scanned);
+    scannedWar = scanned;
+    return scanned;
+  }
+
+  /**
+   * Scans the plugin jars of the war.
+   *
+   * @param unreadable collects the names of the plugin jars which could not be read.
+   */
+  private List<ScannedPlugin> scan(List<String> unreadable) throws IOException {
+    ExecutorService executor =
+        Executors.newFixedThreadPool(
+            SCAN_THREADS,
+            new ThreadFactoryBuilder()
+                .setNameFormat("core-plugins-scan-%d")
+                .setDaemon(true)
+                .build());
     try (JarFile gerritWar = new JarFile(siteGerritWar.toFile())) {
-      return gerritWar.stream()
+      // Plugins are read from the already open war and their manifests are
+      // streamed concurrently, without inflating the plugin jars in memory.
+      Map<String, Future<ScannedPlugin>> plugins = new LinkedHashMap<>();
+      gerritWar.stream()
           .filter(e -> e.getName().startsWith("WEB-INF/plugins") && e.getName().endsWith(".jar"))
-          .map(this::extractPluginInfoFromJarEntry)
-          .filter(Objects::nonNull)
-          .sorted(comparing(p -> p.name))
-          .collect(toImmutableList());
+          .forEach(
+              e ->
+                  plugins.put(
+                      e.getName(),
+                      executor.submit(() -> extractPluginInfoFromJarEntry(gerritWar, e))));
+      ImmutableList.Builder<ScannedPlugin> scanned = ImmutableList.builder();
+      for (Map.Entry<String, Future<ScannedPlugin>> plugin : plugins.entrySet()) {
+        try {
+          ScannedPlugin p = Futures.getChecked(plugin.getValue(), IOException.class);
+          if (p != null) {
+            scanned.add(p);
+          }
+        } catch (IOException e) {
+          logger.atSevere().withCause(e).log("Unable to open plugin %s", plugin.getKey());
+          unreadable.add(plugin.getKey());
+        }
+      }
+      return scanned.build();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private Optional<ScannedWar> readCache() {
+    if (cacheFile == null || !Files.exists(cacheFile)) {
+      return Optional.empty();
+    }
+
+    try (Reader reader = Files.newBufferedReader(cacheFile, UTF_8)) {
+      ScannedWar cached = GSON.fromJson(reader, ScannedWar.class);
+      return cached != null && cached.format == ScannedWar.CURRENT_FORMAT && cached.plugins != null
+          ? Optional.of(cached)
+          : Optional.empty();
+    } catch (IOException | JsonParseException e) {
+      logger.atWarning().withCause(e).log("Ignoring unreadable core plugins cache %s", cacheFile);
+      return Optional.empty();
+    }
+  }
+
+  private void writeCache(ScannedWar scanned) {
+    if (cacheFile == null) {
+      return;
+    }
+
+    try {
+      Files.createDirectories(cacheFile.getParent());
+      Path tmp = Files.createTempFile(cacheFile.getParent(), CACHE_FILE, ".tmp");
+      try {
+        Files.write(tmp, GSON.toJson(scanned).getBytes(UTF_8));
+        Files.move(tmp, cacheFile, REPLACE_EXISTING, ATOMIC_MOVE);
+      } finally {
+        Files.deleteIfExists(tmp);
+      }
+    } catch (IOException e) {
+      logger.atWarning().withCause(e).log("Unable to store core plugins cache %s", cacheFile);
     }
   }
 }
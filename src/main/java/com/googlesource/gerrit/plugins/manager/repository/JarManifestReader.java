@@ -0,0 +1,48 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.manager.repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarInputStream;
+import java.util.jar.Manifest;
+
+/**
+ * Reads the manifest of a jar from a stream, without holding the jar in memory.
+ *
+ * <p>The manifest is normally the first entry of a jar, so that the rest of the jar is not even
+ * read. Otherwise the entries before it are inflated while skipping over them, one at a time.
+ */
+class JarManifestReader {
+
+  static Optional<Manifest> read(InputStream jar) throws IOException {
+    try (JarInputStream in = new JarInputStream(jar, false)) {
+      if (in.getManifest() != null) {
+        return Optional.of(in.getManifest());
+      }
+      for (JarEntry entry = in.getNextJarEntry(); entry != null; entry = in.getNextJarEntry()) {
+        if (entry.getName().equals(JarFile.MANIFEST_NAME)) {
+          return Optional.of(new Manifest(in));
+        }
+      }
+    }
+    return Optional.empty();
+  }
+
+  private JarManifestReader() {}
+}
@@ -17,26 +17,44 @@ package com.googlesource.gerrit.plugins.manager.repository;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Strings;
+import com.google.common.base.Throwables;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
 import com.google.common.flogger.FluentLogger;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.google.gerrit.common.Nullable;
+import com.google.gerrit.extensions.annotations.PluginName;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.google.inject.Singleton;
 import com.googlesource.gerrit.plugins.manager.GerritVersionBranch;
 import com.googlesource.gerrit.plugins.manager.PluginManagerConfig;
 import com.googlesource.gerrit.plugins.manager.gson.SmartGson;
-import com.googlesource.gerrit.plugins.manager.gson.SmartJson;
+import com.googlesource.gerrit.plugins.manager.http.RepositoryHttpClient;
+import com.googlesource.gerrit.plugins.manager.http.RequestBackoffException;
 import java.io.BufferedReader;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.net.URI;
+import java.io.InterruptedIOException;
+import java.net.URLEncoder;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.function.Function;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.apache.commons.lang3.StringUtils;
 
 @Singleton
@@ -45,8 +63,28 @@ public class JenkinsCiPluginsRepository implements PluginsRepository {
   private static final FluentLogger logger = FluentLogger.forEnclosingClass();
 
   private final PluginManagerConfig config;
+  private final String pluginName;
 
-  private HashMap<String, List<PluginInfo>> cache = new HashMap<>();
+  /** Maximum number of Gerrit versions for which the list of plugins is kept in memory. */
+  private static final int MAX_CACHED_VERSIONS = 8;
+
+  private final LoadingCache<String, List<PluginInfo>> cache;
+
+  /**
+   * Plugins resolved during the last crawl of each view, keyed by view name and job URL. Jobs whose
+   * last successful build did not change since then are not resolved again.
+   */
+  private final ConcurrentMap<String, Map<String, ResolvedBuild>> resolvedBuilds =
+      new ConcurrentHashMap<>();
+
+  /**
+   * Jenkins API projection returning, in a single response, all the details of the view's jobs
+   * needed for resolving their plugin artifacts.
+   */
+  @VisibleForTesting
+  static final String JOBS_TREE =
+      "jobs[name,url,color,lastSuccessfulBuild[url,number,artifacts[relativePath],"
+          + "actions[lastBuiltRevision[SHA1]]]]";
 
   static class View {
     String name;
@@ -57,86 +95,278 @@ public class JenkinsCiPluginsRepository implements PluginsRepository {
     String name;
     String url;
     String color;
+    Build lastSuccessfulBuild;
+  }
+
+  static class Build {
+    String url;
+    int number;
+    Artifact[] artifacts;
+    Action[] actions;
+  }
+
+  static class Artifact {
+    String relativePath;
+  }
+
+  static class Action {
+    Revision lastBuiltRevision;
+  }
+
+  static class Revision {
+    String sha1;
+  }
+
+  private static class ResolvedBuild {
+    final int number;
+    final PluginInfo pluginInfo;
+
+    /** Whether both the version and the description of the plugin were resolved. */
+    final boolean complete;
+
+    ResolvedBuild(int number, PluginInfo pluginInfo, boolean complete) {
+      this.number = number;
+      this.pluginInfo = pluginInfo;
+      this.complete = complete;
+    }
   }
 
   private final Provider<SmartGson> gsonProvider;
+  private final RepositoryHttpClient httpClient;
 
   @Inject
-  public JenkinsCiPluginsRepository(Provider<SmartGson> gsonProvider, PluginManagerConfig config) {
+  public JenkinsCiPluginsRepository(
+      Provider<SmartGson> gsonProvider,
+      RepositoryHttpClient httpClient,
+      PluginManagerConfig config,
+      @PluginName String pluginName) {
     this.gsonProvider = gsonProvider;
+    this.httpClient = httpClient;
     this.config = config;
+    this.pluginName = pluginName;
+    this.cache =
+        CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_VERSIONS)
+            .expireAfterWrite(config.getJenkinsCacheTtl())
+            .build(
+                new CacheLoader<String, List<PluginInfo>>() {
+                  @Override
+                  public List<PluginInfo> load(String gerritVersion) throws IOException {
+                    return getList(gerritVersion);
+                  }
+                });
+  }
+
+  @Override
+  public String name() {
+    return "jenkins-ci";
   }
 
   @Override
   public List<PluginInfo> list(String gerritVersion) throws IOException {
-    List<PluginInfo> list = cache.get(gerritVersion);
-    if (list == null) {
-      list = getList(gerritVersion);
-      cache.put(gerritVersion, list);
+    try {
+      // Concurrent callers for the same version wait for a single crawl of Jenkins
+      return cache.get(gerritVersion);
+    } catch (ExecutionException e) {
+      Throwables.throwIfInstanceOf(e.getCause(), IOException.class);
+      throw new IOException("Unable to list plugins for Gerrit version " + gerritVersion, e);
+    } catch (UncheckedExecutionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw e;
     }
-    return list;
+  }
+
+  @Override
+  public void invalidate(String gerritVersion) {
+    resolvedBuilds.remove(viewName(gerritVersion));
+    cache.invalidate(gerritVersion);
+  }
+
+  private static String viewName(String gerritVersion) {
+    return "Plugins-" + GerritVersionBranch.getBranch(gerritVersion);
   }
 
   private List<PluginInfo> getList(String gerritVersion) throws IOException {
     SmartGson gson = gsonProvider.get();
-    String viewName = "Plugins-" + GerritVersionBranch.getBranch(gerritVersion);
+    String viewName = viewName(gerritVersion);
+    String viewUrl = config.getJenkinsUrl() + "/view/" + viewName + "/api/json";
     List<PluginInfo> plugins = new ArrayList<>();
 
     try {
+      Optional<Job[]> detailedJobs = getDetailedJobs(gson, viewUrl);
       Job[] jobs =
-          gson.get(config.getJenkinsUrl() + "/view/" + viewName + "/api/json", View.class).jobs;
-
-      for (Job job : jobs) {
-        if (job.color.equals("blue")) {
-          Optional<PluginInfo> pluginInfo = getPluginInfo(gson, job.url);
-          if (pluginInfo.isPresent()) {
-            plugins.add(pluginInfo.get());
+          detailedJobs.isPresent()
+              ? detailedJobs.get()
+              : gson.get(viewUrl, JenkinsJsonAdapters.VIEW).jobs;
+      Map<String, ResolvedBuild> previousBuilds =
+          resolvedBuilds.getOrDefault(viewName, Collections.emptyMap());
+      Map<String, ResolvedBuild> currentBuilds = new ConcurrentHashMap<>();
+
+      ExecutorService fetchExecutor = newFetchExecutor();
+      try {
+        List<Future<Optional<PluginInfo>>> pluginInfos = new ArrayList<>();
+        for (Job job : jobs) {
+          if (job.color.equals("blue")) {
+            pluginInfos.add(
+                fetchExecutor.submit(
+                    () ->
+                        getPluginInfo(
+                            job, detailedJobs.isPresent(), previousBuilds, currentBuilds)));
           }
         }
+
+        // Collect in the order of the view's jobs, so that the result does not
+        // depend on which fetch completes first.
+        for (Future<Optional<PluginInfo>> pluginInfo : pluginInfos) {
+          getFetchResult(pluginInfo).ifPresent(plugins::add);
+        }
+      } finally {
+        fetchExecutor.shutdownNow();
       }
+
+      resolvedBuilds.put(viewName, currentBuilds);
+      logger.atFine().log(
+          "%d plugins of %s reused from their previous build",
+          currentBuilds.entrySet().stream()
+              .filter(b -> previousBuilds.get(b.getKey()) == b.getValue())
+              .count(),
+          viewName);
     } catch (FileNotFoundException e) {
+      resolvedBuilds.remove(viewName);
       logger.atWarning().withCause(e).log(
           "No plugins available for Gerrit version %s", gerritVersion);
+    } catch (RequestBackoffException e) {
+      if (!e.isNotFound()) {
+        throw e;
+      }
+      resolvedBuilds.remove(viewName);
+      logger.atFine().log(
+          "No plugins available for Gerrit version %s: %s", gerritVersion, e.getMessage());
     }
 
-    return plugins;
+    return ImmutableList.copyOf(plugins);
   }
 
-  private Optional<PluginInfo> getPluginInfo(final SmartGson gson, String url) throws IOException {
-    SmartJson jobDetails = gson.get(url + "/api/json");
-    Optional<SmartJson> lastSuccessfulBuild = jobDetails.getOptional("lastSuccessfulBuild");
+  /**
+   * Fetch the view's jobs together with their last successful build in a single request, using
+   * the Jenkins {@code tree} API projection.
+   *
+   * @return the detailed jobs or empty if the tree API is disabled or rejected by Jenkins.
+   * @throws FileNotFoundException if the view does not exist.
+   */
+  private Optional<Job[]> getDetailedJobs(SmartGson gson, String viewUrl) throws IOException {
+    if (!config.isJenkinsTreeApiEnabled()) {
+      return Optional.empty();
+    }
 
-    return lastSuccessfulBuild.flatMap(
-        new Function<SmartJson, Optional<PluginInfo>>() {
-          @Override
-          public Optional<PluginInfo> apply(SmartJson build) {
-            String buildUrl = build.getString("url");
-            return getPluginArtifactInfo(buildUrl);
-          }
-        });
+    try {
+      return Optional.of(
+          gson.get(
+              viewUrl + "?tree=" + URLEncoder.encode(JOBS_TREE, UTF_8), JenkinsJsonAdapters.VIEW)
+              .jobs);
+    } catch (FileNotFoundException e) {
+      throw e;
+    } catch (RequestBackoffException e) {
+      if (e.isNotFound()) {
+        throw e;
+      }
+      logger.atFine().log("%s, fetching the jobs one by one", e.getMessage());
+      return Optional.empty();
+    } catch (IOException | JsonParseException e) {
+      logger.atWarning().withCause(e).log(
+          "Unable to fetch %s with the tree API, falling back to fetching the jobs one by one",
+          viewUrl);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Creates the threads fetching the jobs, as many as the requests that can be in flight to a
+   * host: how many of them actually fetch at the same time is driven by the concurrency limit of
+   * the host in {@link RepositoryHttpClient}.
+   */
+  private ExecutorService newFetchExecutor() {
+    return Executors.newFixedThreadPool(
+        Math.max(config.getFetchThreads(), config.getMaxConcurrentRequests()),
+        new ThreadFactoryBuilder()
+            .setNameFormat(pluginName + "-fetch-%d")
+            .setDaemon(true)
+            .build());
+  }
+
+  private static <T> T getFetchResult(Future<T> fetch) throws IOException {
+    try {
+      return fetch.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while fetching plugins from Jenkins");
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new IOException("Unable to fetch plugin from Jenkins", cause);
+    }
+  }
+
+  /**
+   * Resolve the plugin built by a job, reusing the previously resolved plugin if the job's last
+   * successful build is still the same. The jobs which cannot be fetched are left out, and the
+   * plugins whose version or description could not be resolved are resolved again next time.
+   *
+   * @param detailed whether the job already includes the details of its last successful build.
+   */
+  private Optional<PluginInfo> getPluginInfo(
+      Job job,
+      boolean detailed,
+      Map<String, ResolvedBuild> previousBuilds,
+      Map<String, ResolvedBuild> currentBuilds) {
+    Build lastSuccessfulBuild =
+        detailed
+            ? job.lastSuccessfulBuild
+            : tryGet(job.url + "/api/json", JenkinsJsonAdapters.JOB)
+                .map(j -> j.lastSuccessfulBuild)
+                .orElse(null);
+    if (lastSuccessfulBuild == null) {
+      return Optional.empty();
+    }
+
+    ResolvedBuild previousBuild = previousBuilds.get(job.url);
+    if (previousBuild != null && previousBuild.number == lastSuccessfulBuild.number) {
+      currentBuilds.put(job.url, previousBuild);
+      return Optional.of(previousBuild.pluginInfo);
+    }
+
+    Optional<ResolvedBuild> resolvedBuild =
+        (detailed
+                ? Optional.of(lastSuccessfulBuild)
+                : tryGet(lastSuccessfulBuild.url + "/api/json", JenkinsJsonAdapters.BUILD))
+            .flatMap(this::getPluginArtifactInfo);
+    resolvedBuild
+        .filter(b -> b.complete && b.number > 0)
+        .ifPresent(b -> currentBuilds.put(job.url, b));
+    return resolvedBuild.map(b -> b.pluginInfo);
   }
 
-  private Optional<PluginInfo> getPluginArtifactInfo(String url) {
-    Optional<SmartJson> buildExecution = tryGetJson(url + "/api/json");
-    Optional<JsonArray> artifacts =
-        buildExecution.map(json -> json.get("artifacts").get().getAsJsonArray());
-    if (artifacts.orElseGet(() -> new JsonArray()).size() == 0) {
+  private Optional<ResolvedBuild> getPluginArtifactInfo(Build build) {
+    if (build == null || build.artifacts == null || build.artifacts.length == 0) {
       return Optional.empty();
     }
 
-    Optional<SmartJson> artifactJavaJson = artifacts.flatMap(a -> findArtifact(a, ".jar"));
-    if (artifactJavaJson.isPresent()) {
-      Optional<PluginInfo> javaArtifact =
-          getJavaPluginArtifactInfo(buildExecution, artifacts, artifactJavaJson);
+    Optional<Artifact> artifactJava = findArtifact(build.artifacts, ".jar");
+    if (artifactJava.isPresent()) {
+      Optional<ResolvedBuild> javaArtifact = getJavaPluginArtifactInfo(build, artifactJava.get());
       if (javaArtifact.isPresent()) {
         return javaArtifact;
       }
     }
 
-    Optional<SmartJson> artifactJsJson = artifacts.flatMap(a -> findArtifact(a, ".js"));
-    if (artifactJsJson.isPresent()) {
-      Optional<PluginInfo> jsArtifact =
-          getJsPluginArtifactInfo(buildExecution, artifacts, artifactJsJson);
+    Optional<Artifact> artifactJs = findArtifact(build.artifacts, ".js");
+    if (artifactJs.isPresent()) {
+      Optional<ResolvedBuild> jsArtifact = getJsPluginArtifactInfo(build, artifactJs.get());
       if (jsArtifact.isPresent()) {
         return jsArtifact;
       }
@@ -145,11 +375,8 @@ public class JenkinsCiPluginsRepository implements PluginsRepository {
     return Optional.empty();
   }
 
-  private Optional<PluginInfo> getJavaPluginArtifactInfo(
-      Optional<SmartJson> buildExecution,
-      Optional<JsonArray> artifacts,
-      Optional<SmartJson> artifactJson) {
-    String pluginPath = artifactJson.get().getString("relativePath");
+  private Optional<ResolvedBuild> getJavaPluginArtifactInfo(Build build, Artifact artifact) {
+    String pluginPath = artifact.relativePath;
 
     String[] pluginPathParts = pluginPath.split("/");
     String pluginName =
@@ -157,75 +384,77 @@ public class JenkinsCiPluginsRepository implements PluginsRepository {
             ? fixPluginNameForMavenBuilds(pluginPathParts)
             : pluginNameOfJar(pluginPathParts);
 
-    String pluginUrl =
-        String.format("%s/artifact/%s", buildExecution.get().getString("url"), pluginPath);
-
-    Optional<String> pluginVersion =
-        fetchArtifact(buildExecution.get(), artifacts.get(), ".jar-version");
-    Optional<String> pluginDescription =
-        fetchArtifactJson(buildExecution.get(), artifacts.get(), ".json")
-            .flatMap(json -> json.getOptionalString("description"));
-
-    for (JsonElement elem : buildExecution.get().get("actions").get().getAsJsonArray()) {
-      SmartJson elemJson = SmartJson.of(elem);
-      Optional<SmartJson> lastBuildRevision = elemJson.getOptional("lastBuiltRevision");
-
-      if (lastBuildRevision.isPresent()) {
-        String sha1 = lastBuildRevision.get().getString("SHA1").substring(0, 8);
-        return pluginVersion.map(
-            version ->
-                new PluginInfo(pluginName, pluginDescription.orElse(""), version, sha1, pluginUrl));
-      }
-    }
-
-    return Optional.empty();
+    String pluginUrl = String.format("%s/artifact/%s", build.url, pluginPath);
+
+    Optional<String> pluginVersion = fetchArtifact(build, ".jar-version");
+    Optional<String> pluginDescription = fetchDescription(build);
+
+    return lastBuiltRevision(build)
+        .flatMap(
+            sha1 ->
+                pluginVersion.map(
+                    version ->
+                        resolvedBuild(
+                            build,
+                            new PluginInfo(
+                                pluginName, pluginDescription.orElse(""), version, sha1, pluginUrl),
+                            pluginDescription.isPresent())));
   }
 
-  private Optional<PluginInfo> getJsPluginArtifactInfo(
-      Optional<SmartJson> buildExecution,
-      Optional<JsonArray> artifacts,
-      Optional<SmartJson> artifactJson) {
-    String pluginPath = artifactJson.get().getString("relativePath");
+  private Optional<ResolvedBuild> getJsPluginArtifactInfo(Build build, Artifact artifact) {
+    String pluginPath = artifact.relativePath;
 
     String[] pluginPathParts = pluginPath.split("/");
     String pluginName = pluginNameOfJs(pluginPathParts);
 
-    String pluginUrl =
-        String.format("%s/artifact/%s", buildExecution.get().getString("url"), pluginPath);
+    String pluginUrl = String.format("%s/artifact/%s", build.url, pluginPath);
+
+    Optional<String> pluginVersion = fetchArtifact(build, ".js-version");
+    Optional<String> pluginDescription = fetchDescription(build);
+
+    return lastBuiltRevision(build)
+        .flatMap(
+            sha1 ->
+                pluginVersion.map(
+                    version ->
+                        resolvedBuild(
+                            build,
+                            new PluginInfo(
+                                pluginName, pluginDescription.orElse(""), version, sha1, pluginUrl),
+                            pluginDescription.isPresent())));
+  }
 
-    Optional<String> pluginVersion =
-        fetchArtifact(buildExecution.get(), artifacts.get(), ".js-version");
-    Optional<String> pluginDescription =
-        fetchArtifactJson(buildExecution.get(), artifacts.get(), ".json")
-            .flatMap(json -> json.getOptionalString("description"));
+  private static ResolvedBuild resolvedBuild(
+      Build build, PluginInfo pluginInfo, boolean descriptionResolved) {
+    // A build without version artifact is listed with an empty version
+    return new ResolvedBuild(
+        build.number, pluginInfo, descriptionResolved && !pluginInfo.version.isEmpty());
+  }
 
-    for (JsonElement elem : buildExecution.get().get("actions").get().getAsJsonArray()) {
-      SmartJson elemJson = SmartJson.of(elem);
-      Optional<SmartJson> lastBuildRevision = elemJson.getOptional("lastBuiltRevision");
+  private static Optional<String> lastBuiltRevision(Build build) {
+    if (build.actions == null) {
+      return Optional.empty();
+    }
 
-      if (lastBuildRevision.isPresent()) {
-        String sha1 = lastBuildRevision.get().getString("SHA1").substring(0, 8);
-        return pluginVersion.map(
-            version ->
-                new PluginInfo(pluginName, pluginDescription.orElse(""), version, sha1, pluginUrl));
+    for (Action action : build.actions) {
+      if (action != null && action.lastBuiltRevision != null) {
+        String sha1 = Strings.nullToEmpty(action.lastBuiltRevision.sha1);
+        return Optional.of(sha1.substring(0, Math.min(8, sha1.length())));
       }
     }
 
     return Optional.empty();
   }
 
-  private Optional<String> fetchArtifact(
-      SmartJson buildExecution, JsonArray artifacts, String artifactSuffix) {
+  private Optional<String> fetchArtifact(Build build, String artifactSuffix) {
     StringBuilder artifactBody = new StringBuilder();
-    Optional<SmartJson> verArtifactJson = findArtifact(artifacts, artifactSuffix);
-    if (verArtifactJson.isPresent()) {
+    Optional<Artifact> verArtifact = findArtifact(build.artifacts, artifactSuffix);
+    if (verArtifact.isPresent()) {
       String versionUrl =
-          String.format(
-              "%s/artifact/%s",
-              buildExecution.getString("url"), verArtifactJson.get().getString("relativePath"));
+          String.format("%s/artifact/%s", build.url, verArtifact.get().relativePath);
       try (BufferedReader reader =
           new BufferedReader(
-              new InputStreamReader(URI.create(versionUrl).toURL().openStream(), UTF_8), 4096)) {
+              new InputStreamReader(httpClient.open(versionUrl), UTF_8), 4096)) {
         String line;
         while ((line = reader.readLine()) != null) {
           if (artifactBody.length() > 0) {
@@ -233,6 +462,9 @@ public class JenkinsCiPluginsRepository implements PluginsRepository {
           }
           artifactBody.append(line);
         }
+      } catch (RequestBackoffException e) {
+        logger.atFine().log("Unable to fetch artifact: %s", e.getMessage());
+        return Optional.empty();
       } catch (Exception e) {
         logger.atSevere().log("Unable to fetch artifact from %s", versionUrl);
         return Optional.empty();
@@ -241,22 +473,39 @@ public class JenkinsCiPluginsRepository implements PluginsRepository {
     return Optional.of(artifactBody.toString());
   }
 
-  private Optional<SmartJson> fetchArtifactJson(
-      SmartJson buildExecution, JsonArray artifacts, String artifactSuffix) {
-    Optional<SmartJson> jsonArtifact = findArtifact(artifacts, artifactSuffix);
-    return jsonArtifact.flatMap(
-        artifactJson ->
-            tryGetJson(
-                String.format(
-                    "%s/artifact/%s",
-                    buildExecution.getString("url"),
-                    jsonArtifact.get().getString("relativePath"))));
+  /**
+   * Fetch the description of the plugin built, blank if the build has none.
+   *
+   * @return the description or empty if it could not be fetched.
+   */
+  private Optional<String> fetchDescription(Build build) {
+    Optional<Artifact> jsonArtifact = findArtifact(build.artifacts, ".json");
+    if (!jsonArtifact.isPresent()) {
+      return Optional.of("");
+    }
+    return tryGet(
+        String.format("%s/artifact/%s", build.url, jsonArtifact.get().relativePath),
+        JenkinsJsonAdapters.DESCRIPTION,
+        "");
+  }
+
+  private <T> Optional<T> tryGet(String url, TypeAdapter<T> adapter) {
+    return tryGet(url, adapter, null);
   }
 
-  private Optional<SmartJson> tryGetJson(String url) {
+  /**
+   * Get the JSON value at the URL, or the given default if it is null.
+   *
+   * @return the value or empty if it could not be fetched.
+   */
+  private <T> Optional<T> tryGet(String url, TypeAdapter<T> adapter, @Nullable T defaultValue) {
     try {
-      return Optional.of(gsonProvider.get().get(url));
-    } catch (IOException e) {
+      T value = gsonProvider.get().get(url, adapter);
+      return Optional.ofNullable(value != null ? value : defaultValue);
+    } catch (RequestBackoffException e) {
+      logger.atFine().log("Cannot get JSON: %s", e.getMessage());
+      return Optional.empty();
+    } catch (IOException | JsonParseException e) {
       logger.atSevere().withCause(e).log("Cannot get JSON from %s", url);
       return Optional.empty();
     }
@@ -299,10 +548,9 @@ public class JenkinsCiPluginsRepository implements PluginsRepository {
     return pluginPathParts[pluginPathParts.length - 2].equals("target");
   }
 
-  private Optional<SmartJson> findArtifact(JsonArray artifacts, String string) {
-    for (int i = 0; i < artifacts.size(); i++) {
-      SmartJson artifact = SmartJson.of(artifacts.get(i));
-      String path = artifact.getString("relativePath");
+  private Optional<Artifact> findArtifact(Artifact[] artifacts, String string) {
+    for (Artifact artifact : artifacts) {
+      String path = Strings.nullToEmpty(artifact.relativePath);
       if (path.endsWith(string) && !path.endsWith("-static" + string)) {
         return Optional.of(artifact);
       }
@@ -0,0 +1,224 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.manager.repository;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.googlesource.gerrit.plugins.manager.repository.JenkinsCiPluginsRepository.Action;
+import com.googlesource.gerrit.plugins.manager.repository.JenkinsCiPluginsRepository.Artifact;
+import com.googlesource.gerrit.plugins.manager.repository.JenkinsCiPluginsRepository.Build;
+import com.googlesource.gerrit.plugins.manager.repository.JenkinsCiPluginsRepository.Job;
+import com.googlesource.gerrit.plugins.manager.repository.JenkinsCiPluginsRepository.Revision;
+import com.googlesource.gerrit.plugins.manager.repository.JenkinsCiPluginsRepository.View;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Decoders of the Jenkins API responses, reading them token by token.
+ *
+ * <p>Only the fields used for resolving the plugins are decoded: everything else, like the large
+ * {@code changeSet} of the builds, is skipped while reading without being materialized as objects.
+ * The response bodies themselves are still received in full by {@link
+ * com.googlesource.gerrit.plugins.manager.http.RepositoryHttpClient} before being decoded, so that
+ * they can be bounded by the request timeout, hedged and cached on disk.
+ */
+class JenkinsJsonAdapters {
+
+  @FunctionalInterface
+  private interface FieldReader<T> {
+    /** Reads the value of the field, or skips it if it is not needed. */
+    void read(JsonReader in, String name, T object) throws IOException;
+  }
+
+  static final TypeAdapter<Revision> REVISION =
+      objectAdapter(
+          Revision::new,
+          (in, name, revision) -> {
+            if (name.equals("SHA1")) {
+              revision.sha1 = nextString(in);
+            } else {
+              in.skipValue();
+            }
+          });
+
+  static final TypeAdapter<Action> ACTION =
+      objectAdapter(
+          Action::new,
+          (in, name, action) -> {
+            if (name.equals("lastBuiltRevision")) {
+              action.lastBuiltRevision = REVISION.read(in);
+            } else {
+              in.skipValue();
+            }
+          });
+
+  static final TypeAdapter<Artifact> ARTIFACT =
+      objectAdapter(
+          Artifact::new,
+          (in, name, artifact) -> {
+            if (name.equals("relativePath")) {
+              artifact.relativePath = nextString(in);
+            } else {
+              in.skipValue();
+            }
+          });
+
+  static final TypeAdapter<Build> BUILD =
+      objectAdapter(
+          Build::new,
+          (in, name, build) -> {
+            switch (name) {
+              case "url":
+                build.url = nextString(in);
+                break;
+              case "number":
+                build.number = nextInt(in);
+                break;
+              case "artifacts":
+                build.artifacts = readArray(in, ARTIFACT, Artifact[]::new);
+                break;
+              case "actions":
+                build.actions = readArray(in, ACTION, Action[]::new);
+                break;
+              default:
+                in.skipValue();
+            }
+          });
+
+  static final TypeAdapter<Job> JOB =
+      objectAdapter(
+          Job::new,
+          (in, name, job) -> {
+            switch (name) {
+              case "name":
+                job.name = nextString(in);
+                break;
+              case "url":
+                job.url = nextString(in);
+                break;
+              case "color":
+                job.color = nextString(in);
+                break;
+              case "lastSuccessfulBuild":
+                job.lastSuccessfulBuild = BUILD.read(in);
+                break;
+              default:
+                in.skipValue();
+            }
+          });
+
+  static final TypeAdapter<View> VIEW =
+      objectAdapter(
+          View::new,
+          (in, name, view) -> {
+            switch (name) {
+              case "name":
+                view.name = nextString(in);
+                break;
+              case "jobs":
+                view.jobs = readArray(in, JOB, Job[]::new);
+                break;
+              default:
+                in.skipValue();
+            }
+          });
+
+  /** Description of the plugin, from the JSON descriptor published alongside its artifact. */
+  static final TypeAdapter<String> DESCRIPTION =
+      new ReadOnlyTypeAdapter<>() {
+        @Override
+        public String read(JsonReader in) throws IOException {
+          String description = null;
+          in.beginObject();
+          while (in.hasNext()) {
+            if (in.nextName().equals("description")
+                && (in.peek() == JsonToken.STRING || in.peek() == JsonToken.NUMBER)) {
+              description = in.nextString();
+            } else {
+              in.skipValue();
+            }
+          }
+          in.endObject();
+          return description;
+        }
+      };
+
+  private abstract static class ReadOnlyTypeAdapter<T> extends TypeAdapter<T> {
+    @Override
+    public void write(JsonWriter out, T value) {
+      throw new UnsupportedOperationException("Jenkins API objects are read-only");
+    }
+  }
+
+  private static <T> TypeAdapter<T> objectAdapter(
+      Supplier<T> newObject, FieldReader<T> fieldReader) {
+    return new ReadOnlyTypeAdapter<>() {
+      @Override
+      public T read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+          in.nextNull();
+          return null;
+        }
+
+        T object = newObject.get();
+        in.beginObject();
+        while (in.hasNext()) {
+          fieldReader.read(in, in.nextName(), object);
+        }
+        in.endObject();
+        return object;
+      }
+    };
+  }
+
+  private static <T> T[] readArray(
+      JsonReader in, TypeAdapter<T> adapter, IntFunction<T[]> newArray) throws IOException {
+    if (in.peek() == JsonToken.NULL) {
+      in.nextNull();
+      return null;
+    }
+
+    List<T> elements = new ArrayList<>();
+    in.beginArray();
+    while (in.hasNext()) {
+      elements.add(adapter.read(in));
+    }
+    in.endArray();
+    return elements.toArray(newArray.apply(elements.size()));
+  }
+
+  private static String nextString(JsonReader in) throws IOException {
+    if (in.peek() == JsonToken.NULL) {
+      in.nextNull();
+      return null;
+    }
+    return in.nextString();
+  }
+
+  private static int nextInt(JsonReader in) throws IOException {
+    if (in.peek() == JsonToken.NULL) {
+      in.nextNull();
+      return 0;
+    }
+    return in.nextInt();
+  }
+
+  private JenkinsJsonAdapters() {}
+}
@@ -24,6 +24,8 @@ public class PluginInfo {
   public final String sha1;
   public final String url;
 
+  private final transient PluginVersion parsedVersion;
+
   public PluginInfo(String name, String description, String version, String sha1, String url) {
     this.id = Url.encode(name);
     this.name = name;
@@ -31,5 +33,11 @@ public class PluginInfo {
     this.version = version;
     this.sha1 = sha1;
     this.url = url;
+    this.parsedVersion = PluginVersion.parse(version);
+  }
+
+  /** Version parsed for comparisons, not part of the JSON representation of the plugin. */
+  public PluginVersion parsedVersion() {
+    return parsedVersion;
   }
 }
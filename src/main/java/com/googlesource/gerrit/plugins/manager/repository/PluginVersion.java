@@ -0,0 +1,105 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.manager.repository;
+
+import com.google.common.base.Strings;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Version of a plugin, split once into its segments for comparing it with other versions.
+ *
+ * <p>Segments are separated by {@code .} or {@code -}. Versions are compared segment by segment:
+ * the first differing segment decides, numerically if both segments are numbers and
+ * lexicographically otherwise. When one version is a prefix of the other, the longer one is the
+ * later.
+ */
+public final class PluginVersion implements Comparable<PluginVersion> {
+  private static final long NOT_A_NUMBER = Long.MIN_VALUE;
+
+  private final String version;
+  private final String[] segments;
+  private final long[] numbers;
+
+  public static PluginVersion parse(String version) {
+    return new PluginVersion(Strings.nullToEmpty(version));
+  }
+
+  private PluginVersion(String version) {
+    this.version = version;
+
+    List<String> parts = new ArrayList<>();
+    int start = 0;
+    for (int i = 0; i <= version.length(); i++) {
+      if (i == version.length() || version.charAt(i) == '.' || version.charAt(i) == '-') {
+        parts.add(version.substring(start, i));
+        start = i + 1;
+      }
+    }
+    this.segments = parts.toArray(new String[0]);
+    this.numbers = new long[segments.length];
+    for (int i = 0; i < segments.length; i++) {
+      numbers[i] = toNumber(segments[i]);
+    }
+  }
+
+  @Override
+  public int compareTo(PluginVersion other) {
+    int i = 0;
+    while (i < segments.length
+        && i < other.segments.length
+        && segments[i].equals(other.segments[i])) {
+      i++;
+    }
+
+    if (i < segments.length && i < other.segments.length) {
+      if (numbers[i] != NOT_A_NUMBER && other.numbers[i] != NOT_A_NUMBER) {
+        return Long.compare(numbers[i], other.numbers[i]);
+      }
+      return segments[i].compareTo(other.segments[i]);
+    }
+    return Integer.compare(segments.length, other.segments.length);
+  }
+
+  public boolean isLaterThan(PluginVersion other) {
+    return compareTo(other) > 0;
+  }
+
+  @Override
+  public String toString() {
+    return version;
+  }
+
+  /** Parses a segment as a decimal integer, as {@link Integer#parseInt} would, or returns NaN. */
+  private static long toNumber(String segment) {
+    int start = segment.startsWith("+") ? 1 : 0;
+    if (start == segment.length()) {
+      return NOT_A_NUMBER;
+    }
+
+    long value = 0;
+    for (int i = start; i < segment.length(); i++) {
+      char c = segment.charAt(i);
+      if (c < '0' || c > '9') {
+        return NOT_A_NUMBER;
+      }
+      value = value * 10 + (c - '0');
+      if (value > Integer.MAX_VALUE) {
+        return NOT_A_NUMBER;
+      }
+    }
+    return value;
+  }
+}
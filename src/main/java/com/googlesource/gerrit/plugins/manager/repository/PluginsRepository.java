@@ -19,5 +19,16 @@ import java.util.Collection;
 
 public interface PluginsRepository {
 
+  /** Name identifying the repository, unique among the repositories of the plugin. */
+  default String name() {
+    return getClass().getSimpleName();
+  }
+
   Collection<PluginInfo> list(String gerritVersion) throws IOException;
+
+  /**
+   * Discards the plugins kept by the repository for the Gerrit version, if any, so that the next
+   * {@link #list(String)} lists them again from their source.
+   */
+  default void invalidate(String gerritVersion) {}
 }
@@ -12,6 +12,8 @@
 // See the License for the specific language governing permissions and
 // limitations under the License.
 
+var PAGE_SIZE = 50;
+
 var app = angular.module('PluginManager', []).controller(
     'LoadInstalledPlugins',
     function($scope, $http, $location, $window) {
@@ -21,18 +23,31 @@ var app = angular.module('PluginManager', []).controller(
 
       plugins.available = {};
 
-      $scope.searchPlugin = '';
+      // Ids of the available plugins found by the server search, if any
+      plugins.matched = undefined;
 
-      $scope.pluginIndexOf = function(pluginId) {
-        var pluginIndex = -1
+      plugins.more = false;
 
-        angular.forEach(plugins.list, function(row, rowIndex) {
-          if (row.id == pluginId) {
-            pluginIndex = rowIndex
-          }
-        });
+      plugins.searchStart = 0;
+
+      // Paging of the available plugins listed when not searching
+      plugins.availableMore = false;
+
+      plugins.availableStart = 0;
+
+      $scope.searchPlugin = '';
+
+      // Rows of plugins.list by plugin id
+      plugins.rows = {};
 
-        return pluginIndex;
+      $scope.putRow = function(row) {
+        var currRow = plugins.rows[row.id];
+        if (currRow === undefined) {
+          plugins.rows[row.id] = row;
+          plugins.list.push(row);
+          return row;
+        }
+        return angular.extend(currRow, row);
       }
 
       $scope.getBaseUrl = function () {
@@ -46,6 +61,36 @@ var app = angular.module('PluginManager', []).controller(
         return window.location.pathname + '/../../../..';
       }
 
+      $scope.refreshUpdates = function(refreshPluginId) {
+        // Installed plugins with their update state computed by the server
+        $http.get($scope.getBaseUrl() + '/plugins/plugin-manager/available~updates', {
+          params : {
+            'installed' : ''
+          }
+        }).then(
+            function successCallback(response) {
+              angular.forEach(response.data, function(plugin) {
+                if (refreshPluginId == undefined
+                    || refreshPluginId == plugin.id) {
+                  $scope.putRow({
+                    id : plugin.id,
+                    description : plugin.description,
+                    version : plugin.version || '',
+                    sha1 : plugin.sha1,
+                    url : plugin.url,
+                    update_version : plugin.state == 'UPGRADEABLE'
+                        ? plugin.available_version : ''
+                  });
+                }
+              });
+
+              $scope.refreshAvailable(refreshPluginId);
+            }, function errorCallback(response) {
+              // Installed plugins only, without their update state
+              $scope.refreshInstalled(refreshPluginId);
+            });
+      }
+
       $scope.refreshInstalled = function(refreshPluginId) {
         $http.get($scope.getBaseUrl() + '/plugins/?all', plugins.httpConfig).then(
             function successCallback(response) {
@@ -53,29 +98,15 @@ var app = angular.module('PluginManager', []).controller(
               angular.forEach(response.data, function(plugin) {
                 if (refreshPluginId == undefined
                     || refreshPluginId == plugin.id) {
-                  var currPluginIdx = $scope.pluginIndexOf(plugin.id);
-
-                  if (currPluginIdx < 0) {
-                    plugins.list.push({
-                      id : plugin.id,
-                      description : plugin.description,
-                      index_url : plugin.index_url,
-                      version : plugin.version,
-                      sha1 : '',
-                      url : plugin.url,
-                      update_version : ''
-                    });
-                  } else {
-                    plugins.list[currPluginIdx] = {
-                      id : plugin.id,
-                      description : plugin.description,
-                      index_url : plugin.index_url,
-                      version : plugin.version,
-                      sha1 : '',
-                      url : plugin.url,
-                      update_version : ''
-                    }
-                  }
+                  $scope.putRow({
+                    id : plugin.id,
+                    description : plugin.description,
+                    index_url : plugin.index_url,
+                    version : plugin.version,
+                    sha1 : '',
+                    url : plugin.url,
+                    update_version : ''
+                  });
                 }
               });
 
@@ -85,42 +116,122 @@ var app = angular.module('PluginManager', []).controller(
       }
 
       $scope.refreshAvailable = function(refreshPluginId) {
-        $http.get($scope.getBaseUrl() + '/plugins/plugin-manager/available', plugins.httpConfig)
-            .then(
-                function successCallback(response) {
-
-                  angular.forEach(response.data, function(plugin) {
-                    if (refreshPluginId == undefined
-                        || refreshPluginId == plugin.id) {
-                      var currRow = $scope.pluginIndexOf(plugin.id);
-                      var currPlugin = currRow < 0 ? undefined
-                          : plugins.list[currRow];
-
-                      if (currPlugin === undefined) {
-                        currPlugin = {
-                          id : plugin.id,
-                          index_url : '',
-                          version : ''
-                        }
-                      }
-
-                      if (plugin.version != currPlugin.version) {
-                        currPlugin.update_version = plugin.version;
-                      }
-                      currPlugin.sha1 = plugin.sha1;
-                      currPlugin.url = plugin.url;
-                      currPlugin.description = plugin.description;
-
-                      if (currRow < 0) {
-                        plugins.list.push(currPlugin);
-                      } else {
-                        plugins.list[currRow] = currPlugin;
-                      }
-                    }
-                  });
-                  plugins.available = response.data;
-                }, function errorCallback(response) {
-                });
+        if (refreshPluginId != undefined) {
+          $scope.refreshAvailablePlugin(refreshPluginId);
+          return;
+        }
+
+        $scope.loadAvailable(0);
+      }
+
+      $scope.loadAvailable = function(start) {
+        // Pages without a search are served pre-rendered, and revalidated with their ETag
+        $http.get($scope.getBaseUrl() + '/plugins/plugin-manager/available', {
+          params : {
+            'n' : PAGE_SIZE,
+            'S' : start
+          }
+        }).then(
+            function successCallback(response) {
+              angular.forEach(response.data.plugins, function(plugin) {
+                $scope.mergeAvailable(plugin);
+                plugins.available[plugin.id] = plugin;
+              });
+              plugins.availableStart = start + PAGE_SIZE;
+              plugins.availableMore = response.data.more === true;
+            }, function errorCallback(response) {
+            });
+      }
+
+      $scope.refreshAvailablePlugin = function(pluginId) {
+        $http.get($scope.getBaseUrl() + '/plugins/plugin-manager/available/'
+            + encodeURIComponent(pluginId), plugins.httpConfig).then(
+            function successCallback(response) {
+              $scope.mergeAvailable(response.data);
+              plugins.available[pluginId] = response.data;
+            }, function errorCallback(response) {
+            });
+      }
+
+      $scope.mergeAvailable = function(plugin) {
+        var currPlugin = plugins.rows[plugin.id];
+        if (currPlugin === undefined) {
+          currPlugin = $scope.putRow({
+            id : plugin.id,
+            index_url : '',
+            version : ''
+          });
+        }
+
+        // The update state of the installed plugins is computed by the server
+        if (currPlugin.version == '') {
+          currPlugin.update_version = plugin.version;
+        }
+        currPlugin.sha1 = plugin.sha1;
+        currPlugin.url = plugin.url;
+        currPlugin.description = plugin.description;
+      }
+
+      $scope.search = function(start) {
+        var query = $scope.searchPlugin.trim();
+        if (query == '') {
+          plugins.matched = undefined;
+          plugins.more = false;
+          return;
+        }
+
+        start = start || 0;
+        $http.get($scope.getBaseUrl() + '/plugins/plugin-manager/available', {
+          params : {
+            'q' : query,
+            'n' : PAGE_SIZE,
+            'S' : start
+          }
+        }).then(
+            function successCallback(response) {
+              if (query != $scope.searchPlugin.trim()) {
+                // Superseded by a newer search
+                return;
+              }
+              if (start == 0) {
+                plugins.matched = {};
+              }
+              angular.forEach(response.data.plugins, function(plugin) {
+                $scope.mergeAvailable(plugin);
+                plugins.matched[plugin.id] = true;
+              });
+              plugins.searchStart = start + PAGE_SIZE;
+              plugins.more = response.data.more === true;
+            }, function errorCallback(response) {
+            });
+      }
+
+      $scope.hasMore = function() {
+        return plugins.matched === undefined ? plugins.availableMore : plugins.more;
+      }
+
+      $scope.loadMore = function() {
+        if (plugins.matched === undefined) {
+          $scope.loadAvailable(plugins.availableStart);
+        } else {
+          $scope.search(plugins.searchStart);
+        }
+      }
+
+      $scope.matchesSearch = function(prop) {
+        if (plugins.matched === undefined) {
+          return $scope.searchPlugin.trim() == ''
+              || $scope.containsSearch(prop);
+        }
+        // Installed plugins are filtered locally, the others by the server
+        return prop.version != '' ? $scope.containsSearch(prop)
+            : plugins.matched[prop.id] === true;
+      }
+
+      $scope.containsSearch = function(prop) {
+        var search = $scope.searchPlugin.trim().toLowerCase();
+        return (prop.id + ' ' + (prop.description || '')).toLowerCase()
+            .indexOf(search) >= 0;
       }
 
       $scope.install = function(id, url) {
@@ -134,7 +245,7 @@ var app = angular.module('PluginManager', []).controller(
             function successCallback(response) {
               $("span#installing-" + id).addClass("hidden");
               $("span#installed-" + id).removeClass("hidden");
-              $scope.refreshInstalled(id);
+              $scope.refreshUpdates(id);
             }, function errorCallback(response) {
               $("span#installing-" + id).addClass("hidden");
               $("span#failed-" + id).removeClass("hidden");
@@ -151,7 +262,7 @@ var app = angular.module('PluginManager', []).controller(
         $window.location.href = newUrl
       };
 
-      $scope.refreshInstalled();
+      $scope.refreshUpdates();
     });
 
 app.config(function($httpProvider) {
@@ -0,0 +1,94 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.manager;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.googlesource.gerrit.plugins.manager.FakePluginsRepository.newCache;
+import static com.googlesource.gerrit.plugins.manager.FakePluginsRepository.plugin;
+import static org.junit.Assert.assertThrows;
+
+import com.google.gerrit.extensions.restapi.IdString;
+import com.google.gerrit.extensions.restapi.ResourceNotFoundException;
+import com.google.gerrit.extensions.restapi.TopLevelResource;
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import org.junit.After;
+import org.junit.Test;
+
+public class AvailablePluginsCollectionTest {
+  private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(2);
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void shouldFindTheAvailablePlugin() throws Exception {
+    FakePluginsRepository core =
+        new FakePluginsRepository("core", plugin("plugin-a", "1.0"), plugin("plugin-b", "1.1"));
+
+    AvailablePluginResource resource = parse("plugin-b", core);
+
+    assertThat(resource.getPlugin().name).isEqualTo("plugin-b");
+    assertThat(resource.getPlugin().version).isEqualTo("1.1");
+    assertThat(resource.getSource()).isEqualTo("core");
+  }
+
+  @Test
+  public void shouldNotFindTheMissingPlugin() {
+    assertThrows(
+        ResourceNotFoundException.class,
+        () -> parse("plugin-b", new FakePluginsRepository("core", plugin("plugin-a", "1.0"))));
+  }
+
+  @Test
+  public void shouldFindTheLatestVersionAmongTheRepositories() throws Exception {
+    AvailablePluginResource resource =
+        parse(
+            "plugin-a",
+            new FakePluginsRepository("core", plugin("plugin-a", "1.0")),
+            new FakePluginsRepository("jenkins", plugin("plugin-a", "1.1")));
+
+    assertThat(resource.getPlugin().version).isEqualTo("1.1");
+    assertThat(resource.getSource()).isEqualTo("jenkins");
+  }
+
+  @Test
+  public void shouldPreferTheFirstRepositoryForTheSameVersion() throws Exception {
+    AvailablePluginResource resource =
+        parse(
+            "plugin-a",
+            new FakePluginsRepository("core", plugin("plugin-a", "1.0")),
+            new FakePluginsRepository("jenkins", plugin("plugin-a", "1.0")));
+
+    assertThat(resource.getSource()).isEqualTo("core");
+  }
+
+  @Test
+  public void shouldFailWhenNoRepositoryCanBeLoaded() {
+    assertThrows(
+        IOException.class,
+        () -> parse("plugin-a", new FakePluginsRepository("core").failing()));
+  }
+
+  private AvailablePluginResource parse(String name, FakePluginsRepository... repositories)
+      throws Exception {
+    AvailablePluginsCollection collection =
+        new AvailablePluginsCollection(null, null, newCache(executor, repositories));
+    return collection.parse(TopLevelResource.INSTANCE, IdString.fromDecoded(name));
+  }
+}
@@ -0,0 +1,204 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.manager;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.googlesource.gerrit.plugins.manager.FakePluginsRepository.plugin;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.googlesource.gerrit.plugins.manager.CatalogSnapshot.SourceState;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.junit.Test;
+
+public class AvailablePluginsFilterTest {
+  private final RenderedCatalog catalog =
+      RenderedCatalog.render(
+          CatalogSnapshot.merge(
+              ImmutableMap.of("core", ImmutableList.of(plugin("plugin-a", "1.0"))),
+              ImmutableMap.of("core", SourceState.COMPLETE)));
+
+  @Test
+  public void shouldServeTheRenderedJson() throws IOException {
+    FakeResponse resp = serve(ImmutableMap.of());
+
+    assertThat(resp.status).isEqualTo(HttpServletResponse.SC_OK);
+    assertThat(resp.headers.get("ETag")).isEqualTo(catalog.etag);
+    assertThat(resp.headers).doesNotContainKey("Content-Encoding");
+    assertThat(resp.body.toByteArray()).isEqualTo(catalog.json);
+  }
+
+  @Test
+  public void shouldServeTheCompressedJsonWhenAccepted() throws IOException {
+    FakeResponse resp = serve(ImmutableMap.of("Accept-Encoding", "deflate, gzip"));
+
+    assertThat(resp.status).isEqualTo(HttpServletResponse.SC_OK);
+    assertThat(resp.headers.get("Content-Encoding")).isEqualTo("gzip");
+    assertThat(resp.headers.get("ETag")).isEqualTo(catalog.gzipEtag);
+    assertThat(resp.body.toByteArray()).isEqualTo(catalog.gzip);
+  }
+
+  @Test
+  public void shouldNotCompressWhenGzipIsRefused() throws IOException {
+    FakeResponse resp = serve(ImmutableMap.of("Accept-Encoding", "gzip;q=0, identity"));
+
+    assertThat(resp.headers).doesNotContainKey("Content-Encoding");
+    assertThat(resp.body.toByteArray()).isEqualTo(catalog.json);
+  }
+
+  @Test
+  public void shouldAnswerNotModifiedToTheSameEtag() throws IOException {
+    FakeResponse resp = serve(ImmutableMap.of("If-None-Match", catalog.etag));
+
+    assertThat(resp.status).isEqualTo(HttpServletResponse.SC_NOT_MODIFIED);
+    assertThat(resp.body.size()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldAnswerNotModifiedToTheWeakEtag() throws IOException {
+    FakeResponse resp =
+        serve(ImmutableMap.of("Accept-Encoding", "gzip", "If-None-Match", "W/" + catalog.gzipEtag));
+
+    assertThat(resp.status).isEqualTo(HttpServletResponse.SC_NOT_MODIFIED);
+  }
+
+  @Test
+  public void shouldServeAnotherEtag() throws IOException {
+    FakeResponse resp = serve(ImmutableMap.of("If-None-Match", "\"other\""));
+
+    assertThat(resp.status).isEqualTo(HttpServletResponse.SC_OK);
+    assertThat(resp.body.toByteArray()).isEqualTo(catalog.json);
+  }
+
+  @Test
+  public void shouldParseTheQualityOfTheEncodings() {
+    assertThat(AvailablePluginsFilter.acceptsGzip(null)).isFalse();
+    assertThat(AvailablePluginsFilter.acceptsGzip("")).isFalse();
+    assertThat(AvailablePluginsFilter.acceptsGzip("identity")).isFalse();
+    assertThat(AvailablePluginsFilter.acceptsGzip("gzip")).isTrue();
+    assertThat(AvailablePluginsFilter.acceptsGzip("GZIP; Q=0.5")).isTrue();
+    assertThat(AvailablePluginsFilter.acceptsGzip("gzip;q=0")).isFalse();
+    assertThat(AvailablePluginsFilter.acceptsGzip("gzip;q=0.000")).isFalse();
+    assertThat(AvailablePluginsFilter.acceptsGzip("*")).isTrue();
+    assertThat(AvailablePluginsFilter.acceptsGzip("gzip;q=0, *")).isFalse();
+    assertThat(AvailablePluginsFilter.acceptsGzip("identity, *;q=0")).isFalse();
+  }
+
+  @Test
+  public void shouldSelectTheRequestedPage() {
+    assertThat(AvailablePluginsFilter.select(catalog, ImmutableMap.of())).isSameInstanceAs(catalog);
+    assertThat(AvailablePluginsFilter.select(catalog, params("n", "10")).etag)
+        .isEqualTo(catalog.page(0, 10).etag);
+    assertThat(AvailablePluginsFilter.select(catalog, params("n", "10", "S", "20")).etag)
+        .isEqualTo(catalog.page(20, 10).etag);
+  }
+
+  @Test
+  public void shouldAnswerNotModifiedToARepeatedPageWithoutRenderingItAgain() throws IOException {
+    RenderedCatalog page = AvailablePluginsFilter.select(catalog, params("n", "10"));
+
+    RenderedCatalog repeated = AvailablePluginsFilter.select(catalog, params("n", "10"));
+    FakeResponse resp = serve(repeated, ImmutableMap.of("If-None-Match", page.etag));
+
+    assertThat(repeated).isSameInstanceAs(page);
+    assertThat(resp.status).isEqualTo(HttpServletResponse.SC_NOT_MODIFIED);
+    assertThat(resp.body.size()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldLeaveTheOtherOptionsToTheRestApi() {
+    assertThat(AvailablePluginsFilter.select(catalog, params("q", "plugin"))).isNull();
+    assertThat(AvailablePluginsFilter.select(catalog, params("n", "10", "q", "plugin"))).isNull();
+    assertThat(AvailablePluginsFilter.select(catalog, params("n", "-1"))).isNull();
+    assertThat(AvailablePluginsFilter.select(catalog, params("S", "first"))).isNull();
+  }
+
+  private static Map<String, String[]> params(String... namesAndValues) {
+    Map<String, String[]> params = new HashMap<>();
+    for (int i = 0; i < namesAndValues.length; i += 2) {
+      params.put(namesAndValues[i], new String[] {namesAndValues[i + 1]});
+    }
+    return params;
+  }
+
+  private FakeResponse serve(Map<String, String> headers) throws IOException {
+    return serve(catalog, headers);
+  }
+
+  private FakeResponse serve(RenderedCatalog served, Map<String, String> headers)
+      throws IOException {
+    HttpServletRequest req =
+        (HttpServletRequest)
+            Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[] {HttpServletRequest.class},
+                (proxy, method, args) ->
+                    method.getName().equals("getHeader") ? headers.get((String) args[0]) : null);
+    FakeResponse resp = new FakeResponse();
+    AvailablePluginsFilter.serve(served, req, resp.proxy());
+    return resp;
+  }
+
+  /** Response recording its status, headers and body. */
+  private static class FakeResponse {
+    final Map<String, String> headers = new HashMap<>();
+    final ByteArrayOutputStream body = new ByteArrayOutputStream();
+    int status;
+
+    HttpServletResponse proxy() {
+      ServletOutputStream out =
+          new ServletOutputStream() {
+            @Override
+            public void write(int b) {
+              body.write(b);
+            }
+
+            @Override
+            public boolean isReady() {
+              return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {}
+          };
+      return (HttpServletResponse)
+          Proxy.newProxyInstance(
+              getClass().getClassLoader(),
+              new Class<?>[] {HttpServletResponse.class},
+              (proxy, method, args) -> {
+                switch (method.getName()) {
+                  case "setStatus":
+                    status = (int) args[0];
+                    return null;
+                  case "setHeader":
+                    headers.put((String) args[0], (String) args[1]);
+                    return null;
+                  case "getOutputStream":
+                    return out;
+                  default:
+                    return null;
+                }
+              });
+    }
+  }
+}
@@ -0,0 +1,74 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.manager;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.googlesource.gerrit.plugins.manager.repository.PluginInfo;
+import java.util.List;
+import org.junit.Test;
+
+public class CatalogIndexTest {
+  private final CatalogIndex index =
+      new CatalogIndex(
+          ImmutableList.of(
+              plugin("gitiles", "Serve a git repository browser from the Gerrit server"),
+              plugin("its-base", "Base of the issue tracker integrations, like its-jira"),
+              plugin("its-jira", "Integrate Jira issues with the its plugins"),
+              plugin("replication", "Copy the repositories to other servers")));
+
+  @Test
+  public void shouldFindPluginsByPrefix() {
+    assertThat(names(index.search("repl"))).containsExactly("replication");
+  }
+
+  @Test
+  public void shouldFindPluginsDespiteTypos() {
+    assertThat(names(index.search("gitils"))).containsExactly("gitiles");
+    assertThat(names(index.search("replicaton"))).containsExactly("replication");
+  }
+
+  @Test
+  public void shouldMatchAllTheTerms() {
+    assertThat(names(index.search("issue tracker"))).containsExactly("its-base");
+    assertThat(names(index.search("ISSUE"))).containsExactly("its-base", "its-jira");
+  }
+
+  @Test
+  public void shouldRankNameMatchesFirst() {
+    assertThat(names(index.search("jira"))).containsExactly("its-jira", "its-base").inOrder();
+  }
+
+  @Test
+  public void shouldReturnNothingWithoutMatches() {
+    assertThat(index.search("xyz")).isEmpty();
+  }
+
+  @Test
+  public void shouldComputeEditDistance() {
+    assertThat(CatalogIndex.isWithinDistance("gitles", "gitiles", 1)).isTrue();
+    assertThat(CatalogIndex.isWithinDistance("gitlies", "gitiles", 1)).isTrue();
+    assertThat(CatalogIndex.isWithinDistance("gtlies", "gitiles", 1)).isFalse();
+  }
+
+  private static PluginInfo plugin(String name, String description) {
+    return new PluginInfo(name, description, "3.10.1", "", "https://ci.example.com/" + name);
+  }
+
+  private static List<String> names(List<PluginInfo> plugins) {
+    return plugins.stream().map(p -> p.name).collect(ImmutableList.toImmutableList());
+  }
+}
@@ -0,0 +1,152 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.manager;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.gerrit.common.Version;
+import com.google.gerrit.extensions.registration.DynamicSet;
+import com.google.gerrit.metrics.DisabledMetricMaker;
+import com.googlesource.gerrit.plugins.manager.PluginsCentralLoader.ListKey;
+import com.googlesource.gerrit.plugins.manager.repository.PluginInfo;
+import com.googlesource.gerrit.plugins.manager.repository.PluginsRepository;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Repository listing a set of plugins, optionally slowly or failing, and keeping the plugins listed
+ * until invalidated.
+ */
+class FakePluginsRepository implements PluginsRepository {
+  private final String name;
+  private final AtomicInteger lists = new AtomicInteger();
+  private final AtomicInteger invalidations = new AtomicInteger();
+  private volatile Collection<PluginInfo> plugins;
+  private volatile Collection<PluginInfo> kept;
+  private volatile CountDownLatch blocked = new CountDownLatch(0);
+  private volatile IOException failure;
+
+  FakePluginsRepository(String name, PluginInfo... plugins) {
+    this.name = name;
+    this.plugins = ImmutableList.copyOf(plugins);
+  }
+
+  /** Blocks the lists until {@link #unblock()}. */
+  FakePluginsRepository blocking() {
+    blocked = new CountDownLatch(1);
+    return this;
+  }
+
+  FakePluginsRepository failing() {
+    failure = new IOException(name + " is unavailable");
+    return this;
+  }
+
+  void unblock() {
+    blocked.countDown();
+  }
+
+  /** Replaces the plugins of the source, listed once the kept ones are invalidated. */
+  void setPlugins(PluginInfo... plugins) {
+    this.plugins = ImmutableList.copyOf(plugins);
+  }
+
+  int lists() {
+    return lists.get();
+  }
+
+  int invalidations() {
+    return invalidations.get();
+  }
+
+  @Override
+  public String name() {
+    return name;
+  }
+
+  @Override
+  public Collection<PluginInfo> list(String gerritVersion) throws IOException {
+    lists.incrementAndGet();
+    try {
+      blocked.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException();
+    }
+    if (failure != null) {
+      throw failure;
+    }
+    if (kept == null) {
+      kept = plugins;
+    }
+    return kept;
+  }
+
+  @Override
+  public void invalidate(String gerritVersion) {
+    invalidations.incrementAndGet();
+    kept = null;
+  }
+
+  /** Cache of the plugins of the repositories, waiting for their loads. */
+  static PluginsCentralCache newCache(
+      ScheduledExecutorService executor, FakePluginsRepository... repositories) {
+    return newCache(executor, Duration.ofSeconds(10), repositories);
+  }
+
+  static PluginsCentralCache newCache(
+      ScheduledExecutorService executor,
+      Duration loadTimeout,
+      FakePluginsRepository... repositories) {
+    return newCache(executor, loadTimeout, ImmutableMap.of(), repositories);
+  }
+
+  /**
+   * Cache of the plugins of the repositories, already holding the plugins of some of them by
+   * repository name, like the plugins persisted before a restart.
+   */
+  static PluginsCentralCache newCache(
+      ScheduledExecutorService executor,
+      Duration loadTimeout,
+      Map<String, Collection<PluginInfo>> cached,
+      FakePluginsRepository... repositories) {
+    DynamicSet<PluginsRepository> set = new DynamicSet<>();
+    for (FakePluginsRepository repository : repositories) {
+      set.add("plugin-manager", repository);
+    }
+    CatalogMetrics metrics =
+        new CatalogMetrics(new DisabledMetricMaker(), new RepositoryLoadTracker());
+    PluginsCentralLoader loader =
+        new PluginsCentralLoader(set, executor, metrics, new RepositoryLoadTracker());
+    LoadingCache<ListKey, Collection<PluginInfo>> pluginsCache =
+        CacheBuilder.newBuilder().build(loader);
+    cached.forEach(
+        (repository, plugins) ->
+            pluginsCache.put(new ListKey(repository, Version.getVersion()), plugins));
+    return new PluginsCentralCache(pluginsCache, set, executor, loadTimeout, metrics, loader);
+  }
+
+  static PluginInfo plugin(String name, String version) {
+    return new PluginInfo(name, "", version, "", "https://ci.example.com/" + name + ".jar");
+  }
+}
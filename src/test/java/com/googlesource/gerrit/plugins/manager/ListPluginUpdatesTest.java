@@ -0,0 +1,98 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.manager;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.googlesource.gerrit.plugins.manager.FakePluginsRepository.plugin;
+
+import com.google.common.collect.ImmutableMap;
+import com.googlesource.gerrit.plugins.manager.ListPluginUpdates.PluginUpdateInfo;
+import com.googlesource.gerrit.plugins.manager.ListPluginUpdates.UpdateState;
+import com.googlesource.gerrit.plugins.manager.repository.PluginInfo;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import org.junit.Test;
+
+public class ListPluginUpdatesTest {
+  private static final Map<String, PluginInfo> AVAILABLE =
+      ImmutableMap.of(
+          "current", plugin("current", "1.2"),
+          "outdated", plugin("outdated", "1.10"),
+          "new", plugin("new", "1.0"));
+
+  private final Map<String, String> installed = new HashMap<>();
+
+  @Test
+  public void shouldJoinTheInstalledAndAvailablePlugins() {
+    installed.put("current", "1.2");
+    installed.put("outdated", "1.9");
+    installed.put("local", "0.1");
+
+    SortedMap<String, PluginUpdateInfo> updates =
+        ListPluginUpdates.join(installed, AVAILABLE, false, false);
+
+    assertThat(updates.keySet()).containsExactly("current", "local", "new", "outdated").inOrder();
+    assertThat(updates.get("current").state).isEqualTo(UpdateState.INSTALLED);
+    assertThat(updates.get("local").state).isEqualTo(UpdateState.INSTALLED);
+    assertThat(updates.get("local").availableVersion).isNull();
+    assertThat(updates.get("new").state).isEqualTo(UpdateState.NEW);
+    assertThat(updates.get("new").version).isNull();
+    assertThat(updates.get("new").availableVersion).isEqualTo("1.0");
+  }
+
+  @Test
+  public void shouldCompareTheVersionsNumerically() {
+    installed.put("outdated", "1.9");
+
+    PluginUpdateInfo outdated =
+        ListPluginUpdates.join(installed, AVAILABLE, false, false).get("outdated");
+
+    assertThat(outdated.state).isEqualTo(UpdateState.UPGRADEABLE);
+    assertThat(outdated.version).isEqualTo("1.9");
+    assertThat(outdated.availableVersion).isEqualTo("1.10");
+    assertThat(outdated.url).isEqualTo(AVAILABLE.get("outdated").url);
+  }
+
+  @Test
+  public void shouldNotDowngradeTheLaterInstalledVersions() {
+    installed.put("current", "1.3-SNAPSHOT");
+    installed.put("outdated", null);
+
+    SortedMap<String, PluginUpdateInfo> updates =
+        ListPluginUpdates.join(installed, AVAILABLE, false, false);
+
+    assertThat(updates.get("current").state).isEqualTo(UpdateState.INSTALLED);
+    assertThat(updates.get("outdated").state).isEqualTo(UpdateState.UPGRADEABLE);
+  }
+
+  @Test
+  public void shouldOnlyListTheUpgradeablePlugins() {
+    installed.put("current", "1.2");
+    installed.put("outdated", "1.9");
+
+    assertThat(ListPluginUpdates.join(installed, AVAILABLE, true, false).keySet())
+        .containsExactly("outdated");
+  }
+
+  @Test
+  public void shouldOnlyListTheInstalledPlugins() {
+    installed.put("current", "1.2");
+    installed.put("outdated", "1.9");
+
+    assertThat(ListPluginUpdates.join(installed, AVAILABLE, false, true).keySet())
+        .containsExactly("current", "outdated");
+  }
+}
@@ -0,0 +1,235 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.manager;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.googlesource.gerrit.plugins.manager.FakePluginsRepository.newCache;
+import static com.googlesource.gerrit.plugins.manager.FakePluginsRepository.plugin;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.googlesource.gerrit.plugins.manager.CatalogSnapshot.SourceState;
+import com.googlesource.gerrit.plugins.manager.repository.PluginInfo;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import org.junit.After;
+import org.junit.Test;
+
+public class PluginsCentralCacheTest {
+  private static final Duration LOAD_TIMEOUT = Duration.ofMillis(200);
+
+  private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(4);
+  private final List<FakePluginsRepository> repositories = new ArrayList<>();
+
+  @After
+  public void tearDown() {
+    repositories.forEach(FakePluginsRepository::unblock);
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void shouldMergeTheRepositoriesLoadedInTime() throws Exception {
+    PluginsCentralCache cache =
+        newCache(
+            executor,
+            LOAD_TIMEOUT,
+            repository("fast", plugin("plugin-a", "1.0")),
+            repository("slow", plugin("plugin-b", "1.0")).blocking());
+
+    CatalogSnapshot snapshot = cache.snapshot();
+
+    assertThat(snapshot.sources().get("fast")).isEqualTo(SourceState.COMPLETE);
+    assertThat(snapshot.sources().get("slow")).isEqualTo(SourceState.LOADING);
+    assertThat(snapshot.pluginsByName().keySet()).containsExactly("plugin-a");
+  }
+
+  @Test
+  public void shouldWaitForAllTheRepositoriesUntilTheSameDeadline() throws Exception {
+    PluginsCentralCache cache =
+        newCache(
+            executor,
+            LOAD_TIMEOUT,
+            repository("slow-1").blocking(),
+            repository("slow-2").blocking(),
+            repository("slow-3").blocking());
+
+    long start = System.nanoTime();
+    CatalogSnapshot snapshot = cache.snapshot();
+    Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+    assertThat(snapshot.sources().values())
+        .containsExactly(SourceState.LOADING, SourceState.LOADING, SourceState.LOADING);
+    assertThat(elapsed.toMillis()).isAtLeast(LOAD_TIMEOUT.toMillis());
+    assertThat(elapsed.toMillis()).isLessThan(LOAD_TIMEOUT.multipliedBy(3).toMillis());
+  }
+
+  @Test
+  public void shouldShareTheLoadsInFlightAcrossSnapshots() throws Exception {
+    FakePluginsRepository slow = repository("slow", plugin("plugin-b", "1.0")).blocking();
+    PluginsCentralCache cache = newCache(executor, LOAD_TIMEOUT, slow);
+
+    assertThat(cache.snapshot().sources().get("slow")).isEqualTo(SourceState.LOADING);
+    assertThat(cache.snapshot().sources().get("slow")).isEqualTo(SourceState.LOADING);
+
+    slow.unblock();
+    CatalogSnapshot snapshot = cache.snapshot();
+
+    assertThat(snapshot.sources().get("slow")).isEqualTo(SourceState.COMPLETE);
+    assertThat(snapshot.pluginsByName().keySet()).containsExactly("plugin-b");
+    assertThat(slow.lists()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldServeTheCachedPluginsWithoutLoading() throws Exception {
+    FakePluginsRepository fast = repository("fast", plugin("plugin-a", "1.0"));
+    PluginsCentralCache cache = newCache(executor, LOAD_TIMEOUT, fast);
+
+    CatalogSnapshot first = cache.snapshot();
+    CatalogSnapshot second = cache.snapshot();
+
+    assertThat(second).isSameInstanceAs(first);
+    assertThat(fast.lists()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldLeaveOutTheFailedRepositories() throws Exception {
+    PluginsCentralCache cache =
+        newCache(
+            executor,
+            LOAD_TIMEOUT,
+            repository("fast", plugin("plugin-a", "1.0")),
+            repository("broken", plugin("plugin-b", "1.0")).failing());
+
+    CatalogSnapshot snapshot = cache.snapshot();
+
+    assertThat(snapshot.sources().get("fast")).isEqualTo(SourceState.COMPLETE);
+    assertThat(snapshot.sources().get("broken")).isEqualTo(SourceState.FAILED);
+    assertThat(snapshot.pluginsByName().keySet()).containsExactly("plugin-a");
+  }
+
+  @Test
+  public void shouldNotFailWhileOtherRepositoriesAreLoading() throws Exception {
+    PluginsCentralCache cache =
+        newCache(
+            executor, LOAD_TIMEOUT, repository("slow").blocking(), repository("broken").failing());
+
+    CatalogSnapshot snapshot = cache.snapshot();
+
+    assertThat(snapshot.sources().get("slow")).isEqualTo(SourceState.LOADING);
+    assertThat(snapshot.sources().get("broken")).isEqualTo(SourceState.FAILED);
+  }
+
+  @Test
+  public void shouldFailOnlyIfAllTheRepositoriesFailed() {
+    PluginsCentralCache cache =
+        newCache(
+            executor,
+            LOAD_TIMEOUT,
+            repository("broken-1").failing(),
+            repository("broken-2").failing());
+
+    ExecutionException e = assertThrows(ExecutionException.class, cache::snapshot);
+
+    assertThat(e.getCause()).isInstanceOf(IOException.class);
+  }
+
+  @Test
+  public void shouldRefreshOnlyTheCachedRepositoriesAfterPreloading() throws Exception {
+    FakePluginsRepository persisted = repository("persisted", plugin("plugin-a", "2.0"));
+    FakePluginsRepository fresh = repository("fresh", plugin("plugin-b", "1.0"));
+    PluginsCentralCache cache =
+        newCache(
+            executor,
+            LOAD_TIMEOUT,
+            ImmutableMap.of("persisted", ImmutableList.of(plugin("plugin-a", "1.0"))),
+            persisted,
+            fresh);
+
+    cache.preload();
+
+    assertThat(fresh.lists()).isEqualTo(1);
+    awaitLists(persisted, 1);
+    assertThat(fresh.lists()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldRefreshTheCachedPluginsFromTheRepository() throws Exception {
+    FakePluginsRepository persisted = repository("persisted", plugin("plugin-a", "2.0"));
+    PluginsCentralCache cache =
+        newCache(
+            executor,
+            LOAD_TIMEOUT,
+            ImmutableMap.of("persisted", ImmutableList.of(plugin("plugin-a", "1.0"))),
+            persisted);
+    assertThat(cache.snapshot().get("plugin-a").get().version).isEqualTo("1.0");
+
+    cache.refresh();
+
+    awaitLists(persisted, 1);
+    long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+    while (cache.snapshot().get("plugin-a").get().version.equals("1.0")
+        && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertThat(cache.snapshot().get("plugin-a").get().version).isEqualTo("2.0");
+  }
+
+  @Test
+  public void shouldReloadFromTheSourceOfTheRepository() throws Exception {
+    FakePluginsRepository jenkins = repository("jenkins", plugin("plugin-a", "1.0"));
+    PluginsCentralCache cache = newCache(executor, LOAD_TIMEOUT, jenkins);
+    cache.snapshot();
+    jenkins.setPlugins(plugin("plugin-a", "2.0"));
+
+    CatalogSnapshot reloaded = cache.reload("jenkins");
+
+    assertThat(jenkins.invalidations()).isEqualTo(1);
+    assertThat(reloaded.get("plugin-a").get().version).isEqualTo("2.0");
+    assertThat(cache.snapshot().get("plugin-a").get().version).isEqualTo("2.0");
+  }
+
+  @Test
+  public void shouldKeepTheCachedPluginsWhenTheReloadFails() throws Exception {
+    FakePluginsRepository jenkins = repository("jenkins", plugin("plugin-a", "1.0"));
+    PluginsCentralCache cache = newCache(executor, LOAD_TIMEOUT, jenkins);
+    cache.snapshot();
+    jenkins.failing();
+
+    assertThrows(ExecutionException.class, () -> cache.reload("jenkins"));
+
+    assertThat(cache.snapshot().get("plugin-a").get().version).isEqualTo("1.0");
+  }
+
+  private static void awaitLists(FakePluginsRepository repository, int lists)
+      throws InterruptedException {
+    long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+    while (repository.lists() < lists && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertThat(repository.lists()).isEqualTo(lists);
+  }
+
+  private FakePluginsRepository repository(String name, PluginInfo... plugins) {
+    FakePluginsRepository repository = new FakePluginsRepository(name, plugins);
+    repositories.add(repository);
+    return repository;
+  }
+}
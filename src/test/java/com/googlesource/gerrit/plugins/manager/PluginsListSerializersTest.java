@@ -0,0 +1,78 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.manager;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.collect.ImmutableList;
+import com.googlesource.gerrit.plugins.manager.PluginsCentralLoader.ListKey;
+import com.googlesource.gerrit.plugins.manager.PluginsListSerializers.ListKeySerializer;
+import com.googlesource.gerrit.plugins.manager.PluginsListSerializers.PluginInfoListSerializer;
+import com.googlesource.gerrit.plugins.manager.repository.PluginInfo;
+import java.util.Collection;
+import org.junit.Test;
+
+public class PluginsListSerializersTest {
+
+  @Test
+  public void shouldRoundTripListKey() {
+    ListKey key = new ListKey("jenkins-ci", "3.10.0");
+
+    assertThat(ListKeySerializer.INSTANCE.deserialize(ListKeySerializer.INSTANCE.serialize(key)))
+        .isEqualTo(key);
+  }
+
+  @Test
+  public void shouldRoundTripPluginInfos() {
+    ImmutableList<PluginInfo> plugins =
+        ImmutableList.of(
+            new PluginInfo(
+                "replication",
+                "Copies to other servers using the Git protocol",
+                "v3.10.0",
+                "0123abcd",
+                "https://ci.example.com/job/plugin-replication/42/artifact/replication.jar"),
+            new PluginInfo("hooks", "Old-style fork+exec hooks \u2713", null, "", "jar:file:///x"));
+
+    Collection<PluginInfo> deserialized =
+        PluginInfoListSerializer.INSTANCE.deserialize(
+            PluginInfoListSerializer.INSTANCE.serialize(plugins));
+
+    assertThat(deserialized).hasSize(2);
+    PluginInfo replication = deserialized.iterator().next();
+    assertThat(replication.id).isEqualTo("replication");
+    assertThat(replication.name).isEqualTo("replication");
+    assertThat(replication.description)
+        .isEqualTo("Copies to other servers using the Git protocol");
+    assertThat(replication.version).isEqualTo("v3.10.0");
+    assertThat(replication.sha1).isEqualTo("0123abcd");
+    assertThat(replication.url)
+        .isEqualTo("https://ci.example.com/job/plugin-replication/42/artifact/replication.jar");
+    PluginInfo hooks = ImmutableList.copyOf(deserialized).get(1);
+    assertThat(hooks.description).isEqualTo("Old-style fork+exec hooks \u2713");
+    assertThat(hooks.version).isNull();
+  }
+
+  @Test
+  public void shouldRejectUnknownFormatVersion() {
+    byte[] serialized = PluginInfoListSerializer.INSTANCE.serialize(ImmutableList.of());
+    serialized[0]++;
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> PluginInfoListSerializer.INSTANCE.deserialize(serialized));
+  }
+}
@@ -0,0 +1,93 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.manager;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.googlesource.gerrit.plugins.manager.FakePluginsRepository.newCache;
+import static com.googlesource.gerrit.plugins.manager.FakePluginsRepository.plugin;
+import static org.junit.Assert.assertThrows;
+
+import com.google.gerrit.extensions.restapi.IdString;
+import com.google.gerrit.extensions.restapi.ResourceNotFoundException;
+import com.google.gerrit.extensions.restapi.TopLevelResource;
+import com.googlesource.gerrit.plugins.manager.repository.PluginInfo;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RefreshAvailablePluginTest {
+  private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(2);
+  private final FakePluginsRepository core =
+      new FakePluginsRepository("core", plugin("plugin-a", "1.0"));
+  private final FakePluginsRepository jenkins =
+      new FakePluginsRepository("jenkins", plugin("plugin-b", "1.0"));
+
+  private PluginsCentralCache pluginsCache;
+  private RefreshAvailablePlugin refresh;
+
+  @Before
+  public void setUp() {
+    pluginsCache = newCache(executor, core, jenkins);
+    refresh = new RefreshAvailablePlugin(pluginsCache);
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void shouldReturnThePluginReloadedFromItsRepository() throws Exception {
+    AvailablePluginResource resource = parse("plugin-b");
+    jenkins.setPlugins(plugin("plugin-b", "1.1"));
+
+    PluginInfo refreshed = refresh.apply(resource, new RefreshAvailablePlugin.Input()).value();
+
+    assertThat(refreshed.version).isEqualTo("1.1");
+    assertThat(jenkins.invalidations()).isEqualTo(1);
+    assertThat(core.invalidations()).isEqualTo(0);
+    assertThat(parse("plugin-b").getPlugin().version).isEqualTo("1.1");
+  }
+
+  @Test
+  public void shouldNotFindThePluginRemovedFromItsRepository() throws Exception {
+    AvailablePluginResource resource = parse("plugin-b");
+    jenkins.setPlugins();
+
+    assertThrows(
+        ResourceNotFoundException.class,
+        () -> refresh.apply(resource, new RefreshAvailablePlugin.Input()));
+  }
+
+  @Test
+  public void shouldKeepThePluginWhenTheReloadFails() throws Exception {
+    AvailablePluginResource resource = parse("plugin-b");
+    jenkins.failing();
+
+    assertThrows(
+        ExecutionException.class,
+        () -> refresh.apply(resource, new RefreshAvailablePlugin.Input()));
+
+    assertThat(parse("plugin-b").getPlugin().version).isEqualTo("1.0");
+  }
+
+  private AvailablePluginResource parse(String name) throws Exception {
+    return new AvailablePluginsCollection(null, null, pluginsCache)
+        .parse(TopLevelResource.INSTANCE, IdString.fromDecoded(name));
+  }
+}
@@ -0,0 +1,110 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.manager;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.googlesource.gerrit.plugins.manager.CatalogSnapshot.SourceState;
+import com.googlesource.gerrit.plugins.manager.repository.PluginInfo;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+import org.junit.Test;
+
+public class RenderedCatalogTest {
+
+  @Test
+  public void shouldRenderPluginsAsJsonByName() {
+    RenderedCatalog catalog = RenderedCatalog.render(snapshot("1.0"));
+
+    String json = new String(catalog.json, UTF_8);
+    assertThat(json).startsWith(")]}'\n{\"plugin-a\":{");
+    assertThat(json).contains("\"version\":\"1.0\"");
+  }
+
+  @Test
+  public void shouldCompressTheSameJson() throws IOException {
+    RenderedCatalog catalog = RenderedCatalog.render(snapshot("1.0"));
+
+    try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(catalog.gzip))) {
+      assertThat(in.readAllBytes()).isEqualTo(catalog.json);
+    }
+  }
+
+  @Test
+  public void shouldTagByContent() {
+    RenderedCatalog catalog = RenderedCatalog.render(snapshot("1.0"));
+
+    assertThat(RenderedCatalog.render(snapshot("1.0")).etag).isEqualTo(catalog.etag);
+    assertThat(RenderedCatalog.render(snapshot("1.1")).etag).isNotEqualTo(catalog.etag);
+    assertThat(catalog.gzipEtag).isNotEqualTo(catalog.etag);
+  }
+
+  @Test
+  public void shouldMatchEitherRepresentation() {
+    RenderedCatalog catalog = RenderedCatalog.render(snapshot("1.0"));
+
+    assertThat(catalog.matches(catalog.etag)).isTrue();
+    assertThat(catalog.matches("\"other\", " + catalog.gzipEtag)).isTrue();
+    assertThat(catalog.matches("\"other\"")).isFalse();
+  }
+
+  @Test
+  public void shouldMatchWeakEtags() {
+    RenderedCatalog catalog = RenderedCatalog.render(snapshot("1.0"));
+
+    assertThat(catalog.matches("W/" + catalog.etag)).isTrue();
+    assertThat(catalog.matches("\"other\", W/" + catalog.gzipEtag)).isTrue();
+    assertThat(catalog.matches("W/\"other\"")).isFalse();
+  }
+
+  @Test
+  public void shouldRenderPagesWithTheirOwnEtags() {
+    RenderedCatalog catalog = RenderedCatalog.render(snapshot("1.0"));
+
+    RenderedCatalog page = catalog.page(0, 1);
+
+    String json = new String(page.json, UTF_8);
+    assertThat(json).startsWith(")]}'\n{\"plugins\":{\"plugin-a\":{");
+    assertThat(json).doesNotContain("\"more\"");
+    assertThat(page.etag).isNotEqualTo(catalog.etag);
+    assertThat(catalog.page(1, 1).etag).isNotEqualTo(page.etag);
+    assertThat(RenderedCatalog.render(snapshot("1.0")).page(0, 1).etag).isEqualTo(page.etag);
+  }
+
+  @Test
+  public void shouldRenderEveryPageOnce() {
+    RenderedCatalog catalog = RenderedCatalog.render(snapshot("1.0"));
+
+    RenderedCatalog page = catalog.page(0, 1);
+
+    assertThat(catalog.page(0, 1)).isSameInstanceAs(page);
+    assertThat(page.page(0, 1)).isSameInstanceAs(page);
+    assertThat(page.page(1, 1)).isSameInstanceAs(catalog.page(1, 1));
+    assertThat(catalog.page(1, 1)).isNotSameInstanceAs(page);
+  }
+
+  private static CatalogSnapshot snapshot(String version) {
+    PluginInfo plugin =
+        new PluginInfo("plugin-a", "Plugin A", version, "", "https://ci.example.com/a.jar");
+    return CatalogSnapshot.merge(
+        ImmutableMap.of("core", ImmutableList.of(plugin)),
+        ImmutableMap.of("core", SourceState.COMPLETE));
+  }
+}
@@ -0,0 +1,91 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.manager.http;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.googlesource.gerrit.plugins.manager.http.ConcurrencyLimiter.Outcome;
+import java.time.Duration;
+import org.junit.Test;
+
+public class ConcurrencyLimiterTest {
+  private static final Duration LATENCY = Duration.ofMillis(20);
+
+  @Test
+  public void shouldGrowWhileLatencyIsFlat() throws Exception {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(4, 32);
+    for (int i = 0; i < 100; i++) {
+      saturateAndRelease(limiter, LATENCY, Outcome.SUCCESS);
+    }
+
+    assertThat(limiter.getLimit()).isGreaterThan(4);
+  }
+
+  @Test
+  public void shouldNotGrowAboveMaximum() throws Exception {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(2, 3);
+    for (int i = 0; i < 100; i++) {
+      saturateAndRelease(limiter, LATENCY, Outcome.SUCCESS);
+    }
+
+    assertThat(limiter.getLimit()).isEqualTo(3);
+  }
+
+  @Test
+  public void shouldHalveOnOverload() throws Exception {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(8, 32);
+    saturateAndRelease(limiter, LATENCY, Outcome.OVERLOAD);
+
+    assertThat(limiter.getLimit()).isEqualTo(4);
+  }
+
+  @Test
+  public void shouldShrinkWhenLatencyRises() throws Exception {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(8, 32);
+    for (int i = 0; i < 10; i++) {
+      saturateAndRelease(limiter, LATENCY, Outcome.SUCCESS);
+    }
+    int limit = limiter.getLimit();
+
+    saturateAndRelease(limiter, Duration.ofSeconds(2), Outcome.SUCCESS);
+
+    assertThat(limiter.getLimit()).isLessThan(limit);
+  }
+
+  @Test
+  public void shouldRejectRequestsAboveLimit() throws Exception {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 1);
+    assertThat(limiter.tryAcquire()).isTrue();
+
+    assertThat(limiter.tryAcquire()).isFalse();
+    assertThat(limiter.getRejections()).isEqualTo(0);
+    assertThat(limiter.acquire(Duration.ofMillis(10))).isFalse();
+    assertThat(limiter.getRejections()).isEqualTo(1);
+
+    limiter.release(LATENCY, Outcome.DROPPED);
+    assertThat(limiter.tryAcquire()).isTrue();
+  }
+
+  private static void saturateAndRelease(
+      ConcurrencyLimiter limiter, Duration latency, Outcome outcome) {
+    int acquired = 0;
+    while (limiter.tryAcquire()) {
+      acquired++;
+    }
+    for (int i = 0; i < acquired; i++) {
+      limiter.release(latency, outcome);
+    }
+  }
+}
@@ -0,0 +1,122 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.manager.http;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.collect.ConcurrentHashMultiset;
+import com.google.common.collect.Multiset;
+import com.google.gerrit.metrics.DisabledMetricMaker;
+import com.googlesource.gerrit.plugins.manager.PluginManagerConfig;
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client serving canned responses, keyed by URL, without any request to the network. The URLs
+ * without a response are not found.
+ */
+public class FakeRepositoryHttpClient extends RepositoryHttpClient {
+  private final NegativeCache negativeCache;
+  private final Map<String, String> responses = new ConcurrentHashMap<>();
+  private final Map<String, RuntimeException> errors = new ConcurrentHashMap<>();
+  private final Map<String, String> heldUntilRequested = new ConcurrentHashMap<>();
+  private final Map<String, CountDownLatch> requested = new ConcurrentHashMap<>();
+  private final Multiset<String> requests = ConcurrentHashMultiset.create();
+
+  public FakeRepositoryHttpClient(PluginManagerConfig config, Path cacheDir) {
+    this(
+        config,
+        cacheDir,
+        new NegativeCache(Duration.ofMinutes(5), Duration.ofDays(1), Clock.systemUTC()));
+  }
+
+  private FakeRepositoryHttpClient(
+      PluginManagerConfig config, Path cacheDir, NegativeCache negativeCache) {
+    super(
+        new HttpResponseCache(cacheDir, 0),
+        negativeCache,
+        new HttpMetrics(new DisabledMetricMaker()),
+        config);
+    this.negativeCache = negativeCache;
+  }
+
+  public FakeRepositoryHttpClient respond(String url, String body) {
+    responses.put(url, body);
+    return this;
+  }
+
+  /** Makes the URL back off, as if it failed on the server. */
+  public FakeRepositoryHttpClient backOff(String url) {
+    negativeCache.recordFailure(url, new IOException("Server error"));
+    return this;
+  }
+
+  /** Fails the requests to the URL with an unexpected error. */
+  public FakeRepositoryHttpClient fail(String url, RuntimeException error) {
+    errors.put(url, error);
+    return this;
+  }
+
+  /** Holds the responses to the URL until another URL is requested, for ordering the responses. */
+  public FakeRepositoryHttpClient holdUntilRequested(String url, String otherUrl) {
+    heldUntilRequested.put(url, otherUrl);
+    requested.putIfAbsent(otherUrl, new CountDownLatch(1));
+    return this;
+  }
+
+  /** Returns how many times the URL was opened, including the requests backing off. */
+  public int requests(String url) {
+    return requests.count(url);
+  }
+
+  @Override
+  public InputStream open(String url) throws IOException {
+    requests.add(url);
+    CountDownLatch requestedLatch = requested.get(url);
+    if (requestedLatch != null) {
+      requestedLatch.countDown();
+    }
+    String otherUrl = heldUntilRequested.get(url);
+    if (otherUrl != null) {
+      try {
+        if (!requested.get(otherUrl).await(10, TimeUnit.SECONDS)) {
+          throw new IOException("Timed out holding " + url);
+        }
+      } catch (InterruptedException e) {
+        throw new InterruptedIOException("Interrupted holding " + url);
+      }
+    }
+    RuntimeException error = errors.get(url);
+    if (error != null) {
+      throw error;
+    }
+    negativeCache.check(url);
+    String body = responses.get(url);
+    if (body == null) {
+      throw new FileNotFoundException(url);
+    }
+    return new ByteArrayInputStream(body.getBytes(UTF_8));
+  }
+}
@@ -0,0 +1,48 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.manager.http;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.truth.Truth.assertThat;
+
+import java.time.Duration;
+import org.junit.Test;
+
+public class HostStatsTest {
+
+  @Test
+  public void shouldCountRequestsFailuresAndBytes() {
+    HostStats stats = new HostStats();
+    stats.record("https://ci.example.com/a", Duration.ofMillis(10), 100, false);
+    stats.record("https://ci.example.com/b", Duration.ofMillis(20), 0, true);
+
+    assertThat(stats.getRequests()).isEqualTo(2);
+    assertThat(stats.getFailures()).isEqualTo(1);
+    assertThat(stats.getBytes()).isEqualTo(100);
+  }
+
+  @Test
+  public void shouldKeepOnlyTheSlowestRequests() {
+    HostStats stats = new HostStats();
+    for (int i = 1; i <= HostStats.MAX_SLOWEST * 2; i++) {
+      stats.record("https://ci.example.com/" + i, Duration.ofMillis(i), 1, false);
+    }
+
+    assertThat(
+            stats.getSlowest().stream().map(r -> r.latency.toMillis()).collect(toImmutableList()))
+        .containsExactly(20L, 19L, 18L, 17L, 16L, 15L, 14L, 13L, 12L, 11L)
+        .inOrder();
+  }
+}
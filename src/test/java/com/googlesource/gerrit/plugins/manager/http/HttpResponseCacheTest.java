@@ -0,0 +1,97 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.manager.http;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class HttpResponseCacheTest {
+  private static final String URL_A = "https://ci.example.com/job/a/1/artifact/a.jar-version";
+  private static final String URL_B = "https://ci.example.com/job/b/1/artifact/b.jar-version";
+  private static final String URL_C = "https://ci.example.com/job/c/1/artifact/c.jar-version";
+
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private Path cacheDir;
+
+  @Before
+  public void setup() {
+    cacheDir = tempFolder.getRoot().toPath().resolve("http-cache");
+  }
+
+  @Test
+  public void shouldReturnStoredBodyAndValidators() throws Exception {
+    HttpResponseCache cache = new HttpResponseCache(cacheDir, 1024);
+    cache.put(URL_A, "\"etag-a\"", "Sat, 17 Oct 2026 10:00:00 GMT", bytes("1.0"));
+
+    HttpResponseCache.Entry entry = cache.get(URL_A).get();
+    assertThat(entry.etag).isEqualTo("\"etag-a\"");
+    assertThat(entry.lastModified).isEqualTo("Sat, 17 Oct 2026 10:00:00 GMT");
+    assertThat(read(cache, entry)).isEqualTo("1.0");
+    assertThat(cache.stats().hits).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldEvictLeastRecentlyUsedEntriesWhenFull() throws Exception {
+    HttpResponseCache cache = new HttpResponseCache(cacheDir, 8);
+    cache.put(URL_A, "a", null, bytes("aaa"));
+    cache.put(URL_B, "b", null, bytes("bbb"));
+    assertThat(cache.get(URL_A)).isPresent();
+
+    cache.put(URL_C, "c", null, bytes("ccc"));
+
+    assertThat(cache.get(URL_A)).isPresent();
+    assertThat(cache.get(URL_B)).isEmpty();
+    assertThat(cache.get(URL_C)).isPresent();
+    assertThat(cache.stats().size).isEqualTo(6);
+  }
+
+  @Test
+  public void shouldNotStoreBodiesLargerThanTheCache() {
+    HttpResponseCache cache = new HttpResponseCache(cacheDir, 2);
+    cache.put(URL_A, "a", null, bytes("aaa"));
+
+    assertThat(cache.get(URL_A)).isEmpty();
+  }
+
+  @Test
+  public void shouldReloadEntriesFromDisk() throws Exception {
+    new HttpResponseCache(cacheDir, 1024).put(URL_A, "a", null, bytes("1.0"));
+
+    HttpResponseCache reloaded = new HttpResponseCache(cacheDir, 1024);
+
+    assertThat(reloaded.stats().entries).isEqualTo(1);
+    assertThat(read(reloaded, reloaded.get(URL_A).get())).isEqualTo("1.0");
+  }
+
+  private static byte[] bytes(String content) {
+    return content.getBytes(UTF_8);
+  }
+
+  private static String read(HttpResponseCache cache, HttpResponseCache.Entry entry)
+      throws IOException {
+    try (InputStream body = cache.openBody(entry).get()) {
+      return new String(body.readAllBytes(), UTF_8);
+    }
+  }
+}
@@ -0,0 +1,62 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.manager.http;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.time.Duration;
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+  @Test
+  public void shouldNotEstimatePercentilesWithoutEnoughSamples() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 1; i < LatencyHistogram.MIN_SAMPLES; i++) {
+      histogram.record(Duration.ofMillis(10));
+    }
+
+    assertThat(histogram.percentile(95)).isEmpty();
+  }
+
+  @Test
+  public void shouldEstimatePercentileWithinBucketError() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 0; i < 95; i++) {
+      histogram.record(Duration.ofMillis(20));
+    }
+    for (int i = 0; i < 5; i++) {
+      histogram.record(Duration.ofSeconds(3));
+    }
+
+    Duration p95 = histogram.percentile(95).get();
+    assertThat(p95).isAtLeast(Duration.ofMillis(20));
+    assertThat(p95).isAtMost(Duration.ofMillis(29));
+    assertThat(histogram.percentile(99).get()).isAtLeast(Duration.ofSeconds(3));
+  }
+
+  @Test
+  public void shouldFollowRecentLatencies() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 0; i < 1000; i++) {
+      histogram.record(Duration.ofMillis(10));
+    }
+    for (int i = 0; i < 5000; i++) {
+      histogram.record(Duration.ofSeconds(1));
+    }
+
+    assertThat(histogram.percentile(50).get()).isAtLeast(Duration.ofSeconds(1));
+  }
+}
@@ -0,0 +1,113 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.manager.http;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import org.junit.Test;
+
+public class NegativeCacheTest {
+  private static final String URL = "https://ci.example.com/job/a/1/artifact/a.jar-version";
+
+  private final TestClock clock = new TestClock();
+  private final NegativeCache cache =
+      new NegativeCache(Duration.ofMinutes(1), Duration.ofMinutes(5), clock);
+
+  @Test
+  public void shouldSkipFailedUrlUntilBackoffExpires() throws Exception {
+    cache.recordFailure(URL, new FileNotFoundException(URL));
+
+    RequestBackoffException e = assertThrows(RequestBackoffException.class, () -> cache.check(URL));
+    assertThat(e.isNotFound()).isTrue();
+
+    clock.advance(Duration.ofMinutes(1));
+    cache.check(URL);
+  }
+
+  @Test
+  public void shouldDoubleBackoffUpToMaximum() {
+    for (int i = 0; i < 5; i++) {
+      cache.recordFailure(URL, new IOException("HTTP 500"));
+    }
+
+    NegativeCache.Entry entry = cache.entries().get(0);
+    assertThat(entry.failures).isEqualTo(5);
+    assertThat(entry.notFound).isFalse();
+    assertThat(Duration.between(entry.lastFailure, entry.retryAfter))
+        .isEqualTo(Duration.ofMinutes(5));
+
+    cache.recordSuccess(URL);
+    assertThat(cache.entries()).isEmpty();
+  }
+
+  @Test
+  public void shouldGrowBackoffAtEveryConsecutiveFailure() {
+    cache.recordFailure(URL, new IOException("HTTP 500"));
+    cache.recordFailure(URL, new IOException("HTTP 500"));
+
+    NegativeCache.Entry entry = cache.entries().get(0);
+    assertThat(Duration.between(entry.lastFailure, entry.retryAfter))
+        .isEqualTo(Duration.ofMinutes(2));
+  }
+
+  @Test
+  public void shouldNotBackOffRequestsFailedByTheClient() throws Exception {
+    cache.recordFailure(URL, new RequestRejectedException("Too many concurrent requests"));
+    cache.recordFailure(URL, new HttpTimeoutException("Timeout fetching " + URL));
+
+    cache.check(URL);
+    assertThat(cache.entries()).isEmpty();
+  }
+
+  @Test
+  public void shouldBackOffConnectionTimeouts() {
+    cache.recordFailure(URL, new HttpConnectTimeoutException("Connection timed out"));
+
+    assertThrows(RequestBackoffException.class, () -> cache.check(URL));
+  }
+
+  private static class TestClock extends Clock {
+    private Instant now = Instant.parse("2026-10-17T10:00:00Z");
+
+    void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
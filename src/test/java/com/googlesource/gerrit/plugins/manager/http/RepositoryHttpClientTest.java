@@ -0,0 +1,79 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.manager.http;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class RepositoryHttpClientTest {
+  private final CompletableFuture<HttpResponse<byte[]>> primary = new CompletableFuture<>();
+  private final CompletableFuture<HttpResponse<byte[]>> hedge = new CompletableFuture<>();
+  private final CompletableFuture<HttpResponse<byte[]>> first = new CompletableFuture<>();
+  private final AtomicInteger pending = new AtomicInteger(2);
+
+  @Test
+  public void shouldCompleteWithTheFirstResponse() throws Exception {
+    completeFirst();
+    HttpResponse<byte[]> notFound = response(404);
+
+    hedge.complete(notFound);
+    primary.complete(response(200));
+
+    assertThat(first.get()).isSameInstanceAs(notFound);
+  }
+
+  @Test
+  public void shouldWaitForTheHedgeAfterAServerError() throws Exception {
+    completeFirst();
+    HttpResponse<byte[]> ok = response(200);
+
+    primary.complete(response(500));
+    assertThat(first.isDone()).isFalse();
+    hedge.complete(ok);
+
+    assertThat(first.get()).isSameInstanceAs(ok);
+  }
+
+  @Test
+  public void shouldCompleteWithTheServerErrorOfTheLastPendingRequest() throws Exception {
+    completeFirst();
+    HttpResponse<byte[]> unavailable = response(503);
+
+    primary.completeExceptionally(new IOException("Connection reset"));
+    hedge.complete(unavailable);
+
+    assertThat(first.get()).isSameInstanceAs(unavailable);
+  }
+
+  private void completeFirst() {
+    RepositoryHttpClient.completeFirst(primary, first, pending);
+    RepositoryHttpClient.completeFirst(hedge, first, pending);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static HttpResponse<byte[]> response(int status) {
+    return (HttpResponse<byte[]>)
+        Proxy.newProxyInstance(
+            RepositoryHttpClientTest.class.getClassLoader(),
+            new Class<?>[] {HttpResponse.class},
+            (proxy, method, args) -> method.getName().equals("statusCode") ? status : null);
+  }
+}
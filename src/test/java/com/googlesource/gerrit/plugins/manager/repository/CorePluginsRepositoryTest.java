@@ -0,0 +1,152 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.manager.repository;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.TruthJUnit.assume;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+
+import com.google.gerrit.common.Version;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CorePluginsRepositoryTest {
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private Path war;
+  private Path cacheFile;
+
+  @Before
+  public void setup() throws IOException {
+    assume().that(Version.getVersion()).isNotNull();
+    war = tempFolder.getRoot().toPath().resolve("gerrit.war");
+    cacheFile = tempFolder.getRoot().toPath().resolve("data").resolve("core-plugins.json");
+  }
+
+  @Test
+  public void shouldReusePluginsOfUnchangedWarAcrossRestarts() throws Exception {
+    writeWar("replication", "v3.10.0");
+    assertThat(names(newRepository().list(Version.getVersion()))).containsExactly("replication");
+    assertThat(Files.exists(cacheFile)).isTrue();
+
+    // Same size and modification time, but no longer a war: only the cache can be read
+    FileTime lastModified = Files.getLastModifiedTime(war);
+    Files.write(war, new byte[(int) Files.size(war)]);
+    Files.setLastModifiedTime(war, lastModified);
+
+    Collection<PluginInfo> plugins = newRepository().list(Version.getVersion());
+    assertThat(names(plugins)).containsExactly("replication");
+    assertThat(plugins.iterator().next().version).isEqualTo("v3.10.0");
+    assertThat(plugins.iterator().next().description)
+        .isEqualTo("Copies to other servers using the Git protocol");
+  }
+
+  @Test
+  public void shouldRescanChangedWar() throws Exception {
+    CorePluginsRepository repository = newRepository();
+    writeWar("replication", "v3.10.0");
+    assertThat(repository.list(Version.getVersion()).get(0).version).isEqualTo("v3.10.0");
+
+    writeWar("replication", "v3.11.0-rc1");
+    Files.setLastModifiedTime(
+        war, FileTime.fromMillis(Files.getLastModifiedTime(war).toMillis() + 1000));
+
+    assertThat(repository.list(Version.getVersion()).get(0).version).isEqualTo("v3.11.0-rc1");
+  }
+
+  @Test
+  public void shouldNotCachePluginsOfPartiallyReadWar() throws Exception {
+    try (JarOutputStream warOut = new JarOutputStream(Files.newOutputStream(war))) {
+      warOut.putNextEntry(new ZipEntry("WEB-INF/plugins/replication.jar"));
+      warOut.write(pluginJar("replication", "v3.10.0"));
+      warOut.closeEntry();
+      // Truncated in the middle of its manifest
+      warOut.putNextEntry(new ZipEntry("WEB-INF/plugins/broken.jar"));
+      warOut.write(Arrays.copyOf(pluginJar("broken", "v3.10.0"), 60));
+      warOut.closeEntry();
+    }
+
+    assertThat(names(newRepository().list(Version.getVersion()))).containsExactly("replication");
+    assertThat(Files.exists(cacheFile)).isFalse();
+  }
+
+  @Test
+  public void shouldRescanWarCachedInAnotherFormat() throws Exception {
+    writeWar("replication", "v3.10.0");
+    Files.createDirectories(cacheFile.getParent());
+    Files.write(
+        cacheFile,
+        String.format(
+                "{\"size\": %d, \"lastModified\": %d, \"plugins\": [{\"name\": \"stale\"}]}",
+                Files.size(war), Files.getLastModifiedTime(war).toMillis())
+            .getBytes(UTF_8));
+
+    assertThat(names(newRepository().list(Version.getVersion()))).containsExactly("replication");
+  }
+
+  private CorePluginsRepository newRepository() {
+    return new CorePluginsRepository(war, war.toString(), new CorePluginsDescriptions(), cacheFile);
+  }
+
+  private void writeWar(String pluginName, String pluginVersion) throws IOException {
+    try (JarOutputStream warOut = new JarOutputStream(Files.newOutputStream(war))) {
+      warOut.putNextEntry(new ZipEntry("WEB-INF/plugins/" + pluginName + ".jar"));
+      writePluginJar(warOut, manifest(pluginName, pluginVersion));
+      warOut.closeEntry();
+    }
+  }
+
+  private static byte[] pluginJar(String pluginName, String pluginVersion) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    writePluginJar(out, manifest(pluginName, pluginVersion));
+    return out.toByteArray();
+  }
+
+  private static Manifest manifest(String pluginName, String pluginVersion) {
+    Manifest manifest = new Manifest();
+    manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+    manifest.getMainAttributes().putValue("Gerrit-PluginName", pluginName);
+    manifest.getMainAttributes().putValue("Implementation-Version", pluginVersion);
+    return manifest;
+  }
+
+  private static void writePluginJar(OutputStream out, Manifest manifest) throws IOException {
+    JarOutputStream pluginJar = new JarOutputStream(out, manifest);
+    pluginJar.putNextEntry(new ZipEntry("Plugin.class"));
+    pluginJar.write(new byte[512]);
+    pluginJar.closeEntry();
+    pluginJar.finish();
+  }
+
+  private static List<String> names(Collection<PluginInfo> plugins) {
+    return plugins.stream().map(p -> p.name).collect(toList());
+  }
+}
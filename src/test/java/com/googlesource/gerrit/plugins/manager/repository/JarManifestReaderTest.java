@@ -0,0 +1,93 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.manager.repository;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.jar.Manifest;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.junit.Test;
+
+public class JarManifestReaderTest {
+  private static final String MANIFEST =
+      "Manifest-Version: 1.0\r\n"
+          + "Gerrit-PluginName: replication\r\n"
+          + "Implementation-Version: v3.10.0\r\n\r\n";
+
+  @Test
+  public void shouldReadDeflatedManifestAfterOtherEntries() throws Exception {
+    Manifest manifest =
+        JarManifestReader.read(jar(ZipEntry.DEFLATED, "Foo.class", "META-INF/MANIFEST.MF")).get();
+
+    assertThat(manifest.getMainAttributes().getValue("Gerrit-PluginName")).isEqualTo("replication");
+    assertThat(manifest.getMainAttributes().getValue("Implementation-Version"))
+        .isEqualTo("v3.10.0");
+  }
+
+  @Test
+  public void shouldReadStoredManifest() throws Exception {
+    Manifest manifest = JarManifestReader.read(jar(ZipEntry.STORED, "META-INF/MANIFEST.MF")).get();
+
+    assertThat(manifest.getMainAttributes().getValue("Gerrit-PluginName")).isEqualTo("replication");
+  }
+
+  @Test
+  public void shouldReturnEmptyWithoutManifest() throws Exception {
+    assertThat(JarManifestReader.read(jar(ZipEntry.DEFLATED, "Foo.class"))).isEmpty();
+  }
+
+  @Test
+  public void shouldNotReadTheEntriesAfterTheManifest() throws Exception {
+    byte[] jar = bytes(ZipEntry.DEFLATED, "META-INF/MANIFEST.MF", "Foo.class");
+
+    assertThat(
+            JarManifestReader.read(new ByteArrayInputStream(Arrays.copyOf(jar, jar.length - 10))))
+        .isPresent();
+  }
+
+  private static InputStream jar(int method, String... entries) throws IOException {
+    return new ByteArrayInputStream(bytes(method, entries));
+  }
+
+  private static byte[] bytes(int method, String... entries) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (ZipOutputStream zip = new ZipOutputStream(out)) {
+      for (String name : entries) {
+        byte[] content =
+            name.equals("META-INF/MANIFEST.MF") ? MANIFEST.getBytes(UTF_8) : new byte[1024];
+        ZipEntry entry = new ZipEntry(name);
+        entry.setMethod(method);
+        if (method == ZipEntry.STORED) {
+          CRC32 crc = new CRC32();
+          crc.update(content);
+          entry.setSize(content.length);
+          entry.setCrc(crc.getValue());
+        }
+        zip.putNextEntry(entry);
+        zip.write(content);
+        zip.closeEntry();
+      }
+    }
+    return out.toByteArray();
+  }
+}
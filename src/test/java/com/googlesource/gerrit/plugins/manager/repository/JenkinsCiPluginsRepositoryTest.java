@@ -0,0 +1,306 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.manager.repository;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertThrows;
+
+import com.google.gerrit.server.config.PluginConfig;
+import com.googlesource.gerrit.plugins.manager.PluginManagerConfig;
+import com.googlesource.gerrit.plugins.manager.gson.SmartGson;
+import com.googlesource.gerrit.plugins.manager.http.FakeRepositoryHttpClient;
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.util.Arrays;
+import java.util.List;
+import org.eclipse.jgit.lib.Config;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class JenkinsCiPluginsRepositoryTest {
+  private static final String PLUGIN_NAME = "plugin-manager";
+  private static final String JENKINS_URL = "https://ci.example.com";
+  private static final String GERRIT_VERSION = "3.9.1";
+  private static final String VIEW_URL = JENKINS_URL + "/view/Plugins-stable-3.9/api/json";
+  private static final String TREE_URL =
+      VIEW_URL + "?tree=" + URLEncoder.encode(JenkinsCiPluginsRepository.JOBS_TREE, UTF_8);
+
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private FakeRepositoryHttpClient httpClient;
+
+  @Test
+  public void shouldListOtherJobsWhenOneJobIsBackingOff() throws Exception {
+    JenkinsCiPluginsRepository repository = newRepository(false);
+    view("foo", "bar", "baz");
+    httpClient.backOff(jobUrl("bar") + "/api/json");
+
+    assertThat(names(repository.list(GERRIT_VERSION))).containsExactly("foo", "baz").inOrder();
+  }
+
+  @Test
+  public void shouldListTheSamePluginsWithTheTreeApi() throws Exception {
+    List<String> fetchedOneByOne = describe(listView(false));
+
+    List<String> fetchedWithTree = describe(listView(true));
+
+    assertThat(fetchedWithTree).containsExactlyElementsIn(fetchedOneByOne).inOrder();
+    assertThat(fetchedWithTree).hasSize(2);
+    assertThat(httpClient.requests(TREE_URL)).isEqualTo(1);
+    assertThat(httpClient.requests(VIEW_URL)).isEqualTo(0);
+    assertThat(httpClient.requests(jobUrl("foo") + "/api/json")).isEqualTo(0);
+    assertThat(httpClient.requests(buildUrl("foo", 1) + "/api/json")).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldFetchTheJobsOneByOneWhenTheTreeApiFails() throws Exception {
+    List<String> fetchedOneByOne = describe(listView(false));
+    JenkinsCiPluginsRepository repository = newRepository(true);
+    view("foo", "bar");
+    httpClient.backOff(TREE_URL);
+
+    assertThat(describe(repository.list(GERRIT_VERSION)))
+        .containsExactlyElementsIn(fetchedOneByOne)
+        .inOrder();
+    assertThat(httpClient.requests(VIEW_URL)).isEqualTo(1);
+    assertThat(httpClient.requests(jobUrl("foo") + "/api/json")).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldListInTheOrderOfTheViewWhateverTheFetchesCompleting() throws Exception {
+    JenkinsCiPluginsRepository repository = newRepository(false);
+    view("foo", "bar", "baz");
+    httpClient.holdUntilRequested(jobUrl("foo") + "/api/json", artifactUrl("baz", 1, ".json"));
+
+    assertThat(names(repository.list(GERRIT_VERSION)))
+        .containsExactly("foo", "bar", "baz")
+        .inOrder();
+  }
+
+  @Test
+  public void shouldStopFetchingWhenAFetchFails() throws Exception {
+    JenkinsCiPluginsRepository repository = newRepository(false);
+    view("foo", "bar");
+    httpClient
+        .fail(jobUrl("foo") + "/api/json", new RuntimeException("Unexpected error"))
+        .holdUntilRequested(jobUrl("bar") + "/api/json", JENKINS_URL + "/never-requested");
+
+    assertThrows(RuntimeException.class, () -> repository.list(GERRIT_VERSION));
+
+    for (int i = 0; i < 100 && fetchThreadsAlive(); i++) {
+      Thread.sleep(50);
+    }
+    assertThat(fetchThreadsAlive()).isFalse();
+    assertThat(httpClient.requests(buildUrl("bar", 1) + "/api/json")).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldReuseThePluginsOfUnchangedBuilds() throws Exception {
+    JenkinsCiPluginsRepository repository = newRepository(false);
+    view("foo", "bar");
+
+    List<PluginInfo> listed = repository.list(GERRIT_VERSION);
+    List<PluginInfo> relisted = repository.list(GERRIT_VERSION);
+
+    assertThat(relisted.get(0)).isSameInstanceAs(listed.get(0));
+    assertThat(relisted.get(1)).isSameInstanceAs(listed.get(1));
+    assertThat(httpClient.requests(jobUrl("foo") + "/api/json")).isEqualTo(2);
+    assertThat(httpClient.requests(buildUrl("foo", 1) + "/api/json")).isEqualTo(1);
+    assertThat(httpClient.requests(artifactUrl("foo", 1, ".jar-version"))).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldResolveTheNewBuilds() throws Exception {
+    JenkinsCiPluginsRepository repository = newRepository(false);
+    view("foo", "bar");
+    repository.list(GERRIT_VERSION);
+
+    build("foo", 2);
+    List<PluginInfo> relisted = repository.list(GERRIT_VERSION);
+
+    assertThat(relisted.get(0).version).isEqualTo("v3.9.2");
+    assertThat(relisted.get(1).version).isEqualTo("v3.9.1");
+    assertThat(httpClient.requests(buildUrl("foo", 2) + "/api/json")).isEqualTo(1);
+    assertThat(httpClient.requests(buildUrl("bar", 1) + "/api/json")).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldResolveAllBuildsAgainOnceInvalidated() throws Exception {
+    JenkinsCiPluginsRepository repository = newRepository(false);
+    view("foo");
+    repository.list(GERRIT_VERSION);
+
+    repository.invalidate(GERRIT_VERSION);
+    repository.list(GERRIT_VERSION);
+
+    assertThat(httpClient.requests(buildUrl("foo", 1) + "/api/json")).isEqualTo(2);
+    assertThat(httpClient.requests(artifactUrl("foo", 1, ".jar-version"))).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldResolveAgainTheBuildsWhoseDescriptionFailed() throws Exception {
+    JenkinsCiPluginsRepository repository = newRepository(false);
+    view("foo");
+    httpClient.backOff(artifactUrl("foo", 1, ".json"));
+
+    assertThat(repository.list(GERRIT_VERSION).get(0).description).isEmpty();
+    repository.list(GERRIT_VERSION);
+
+    assertThat(httpClient.requests(artifactUrl("foo", 1, ".json"))).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldResolveAgainTheBuildsWithoutVersion() throws Exception {
+    JenkinsCiPluginsRepository repository = newRepository(false);
+    view("foo");
+    httpClient.respond(buildUrl("foo", 1) + "/api/json", buildJson("foo", 1, ".jar", ".json"));
+
+    assertThat(repository.list(GERRIT_VERSION).get(0).version).isEmpty();
+    repository.list(GERRIT_VERSION);
+
+    assertThat(httpClient.requests(buildUrl("foo", 1) + "/api/json")).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldNotResolveAgainTheBuildsWithoutDescription() throws Exception {
+    JenkinsCiPluginsRepository repository = newRepository(false);
+    view("foo");
+    httpClient.respond(
+        buildUrl("foo", 1) + "/api/json", buildJson("foo", 1, ".jar", ".jar-version"));
+
+    assertThat(repository.list(GERRIT_VERSION).get(0).description).isEmpty();
+    repository.list(GERRIT_VERSION);
+
+    assertThat(httpClient.requests(buildUrl("foo", 1) + "/api/json")).isEqualTo(1);
+  }
+
+  private JenkinsCiPluginsRepository newRepository(boolean treeApi) throws IOException {
+    Config gerritConfig = new Config();
+    gerritConfig.setString("plugin", PLUGIN_NAME, "jenkinsUrl", JENKINS_URL);
+    gerritConfig.setBoolean("plugin", PLUGIN_NAME, "jenkinsTreeApi", treeApi);
+    // Crawl Jenkins on every list
+    gerritConfig.setString("plugin", PLUGIN_NAME, "jenkinsCacheTtl", "0");
+    PluginManagerConfig config =
+        new PluginManagerConfig(PluginConfig.createFromGerritConfig(PLUGIN_NAME, gerritConfig));
+    httpClient = new FakeRepositoryHttpClient(config, tempFolder.newFolder().toPath());
+    SmartGson gson = new SmartGson(httpClient);
+    return new JenkinsCiPluginsRepository(() -> gson, httpClient, config, PLUGIN_NAME);
+  }
+
+  /**
+   * Publishes the view of the plugins, with the first build of every plugin, and a job failing to
+   * build.
+   */
+  private void view(String... plugins) {
+    for (String plugin : plugins) {
+      build(plugin, 1);
+    }
+    httpClient
+        .respond(VIEW_URL, viewJson(false, plugins))
+        .respond(TREE_URL, viewJson(true, plugins));
+  }
+
+  private static String viewJson(boolean detailed, String... plugins) {
+    return Arrays.stream(plugins)
+        .map(
+            p ->
+                String.format(
+                    "{\"name\": \"%s\", \"url\": \"%s\", \"color\": \"blue\"%s}",
+                    p,
+                    jobUrl(p),
+                    detailed
+                        ? ", \"lastSuccessfulBuild\": "
+                            + buildJson(p, 1, ".jar", ".jar-version", ".json")
+                        : ""))
+        .collect(
+            joining(
+                ", ",
+                String.format(
+                    "{\"name\": \"Plugins-stable-3.9\", \"jobs\": ["
+                        + "{\"name\": \"broken\", \"url\": \"%s\", \"color\": \"red\"}, ",
+                    jobUrl("broken")),
+                "]}"));
+  }
+
+  /** Publishes a successful build of the plugin, as the last one of its job. */
+  private void build(String plugin, int number) {
+    httpClient
+        .respond(
+            jobUrl(plugin) + "/api/json",
+            String.format(
+                "{\"name\": \"%s\", \"url\": \"%s\", \"color\": \"blue\","
+                    + " \"lastSuccessfulBuild\": {\"number\": %d, \"url\": \"%s\"}}",
+                plugin, jobUrl(plugin), number, buildUrl(plugin, number)))
+        .respond(
+            buildUrl(plugin, number) + "/api/json",
+            buildJson(plugin, number, ".jar", ".jar-version", ".json"))
+        .respond(artifactUrl(plugin, number, ".jar-version"), "v3.9." + number)
+        .respond(
+            artifactUrl(plugin, number, ".json"),
+            String.format("{\"description\": \"The %s plugin\"}", plugin));
+  }
+
+  private static String buildJson(String plugin, int number, String... artifactSuffixes) {
+    return String.format(
+        "{\"url\": \"%s\", \"number\": %d, \"artifacts\": [%s],"
+            + " \"actions\": [{\"lastBuiltRevision\": {\"SHA1\": \"0123456789abcdef\"}}]}",
+        buildUrl(plugin, number),
+        number,
+        Arrays.stream(artifactSuffixes)
+            .map(suffix -> "{\"relativePath\": \"" + artifactPath(plugin, suffix) + "\"}")
+            .collect(joining(", ")));
+  }
+
+  private static String jobUrl(String plugin) {
+    return JENKINS_URL + "/job/plugin-" + plugin + "-bazel-stable-3.9";
+  }
+
+  private static String buildUrl(String plugin, int number) {
+    return jobUrl(plugin) + "/" + number;
+  }
+
+  private static String artifactUrl(String plugin, int number, String suffix) {
+    return buildUrl(plugin, number) + "/artifact/" + artifactPath(plugin, suffix);
+  }
+
+  private static String artifactPath(String plugin, String suffix) {
+    return "bazel-bin/plugins/" + plugin + "/" + plugin + suffix;
+  }
+
+  private List<PluginInfo> listView(boolean treeApi) throws IOException {
+    JenkinsCiPluginsRepository repository = newRepository(treeApi);
+    view("foo", "bar");
+    return repository.list(GERRIT_VERSION);
+  }
+
+  private static List<String> describe(List<PluginInfo> plugins) {
+    return plugins.stream()
+        .map(p -> String.join(" ", p.name, p.version, p.sha1, p.url, p.description))
+        .collect(toList());
+  }
+
+  private static boolean fetchThreadsAlive() {
+    return Thread.getAllStackTraces().keySet().stream()
+        .anyMatch(t -> t.getName().startsWith(PLUGIN_NAME + "-fetch-"));
+  }
+
+  private static List<String> names(List<PluginInfo> plugins) {
+    return plugins.stream().map(p -> p.name).collect(toList());
+  }
+}
@@ -0,0 +1,84 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.manager.repository;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.googlesource.gerrit.plugins.manager.repository.JenkinsCiPluginsRepository.Build;
+import com.googlesource.gerrit.plugins.manager.repository.JenkinsCiPluginsRepository.View;
+import java.io.IOException;
+import java.io.StringReader;
+import org.junit.Test;
+
+public class JenkinsJsonAdaptersTest {
+
+  @Test
+  public void shouldDecodeViewWithDetailedJobs() throws Exception {
+    View view =
+        read(
+            JenkinsJsonAdapters.VIEW,
+            "{\"_class\": \"hudson.model.ListView\", \"name\": \"Plugins-master\", \"jobs\": ["
+                + "{\"name\": \"plugin-foo\", \"url\": \"https://ci/job/plugin-foo/\","
+                + " \"color\": \"blue\", \"lastSuccessfulBuild\": {\"number\": 42,"
+                + " \"url\": \"https://ci/job/plugin-foo/42/\","
+                + " \"artifacts\": [{\"relativePath\": \"bazel-bin/plugins/foo/foo.jar\"}],"
+                + " \"actions\": [{}, {\"lastBuiltRevision\": {\"SHA1\": \"0123456789abcdef\"}}]}},"
+                + "{\"name\": \"plugin-bar\", \"url\": \"https://ci/job/plugin-bar/\","
+                + " \"color\": \"red\", \"lastSuccessfulBuild\": null}]}");
+
+    assertThat(view.name).isEqualTo("Plugins-master");
+    assertThat(view.jobs).hasLength(2);
+    assertThat(view.jobs[0].color).isEqualTo("blue");
+    assertThat(view.jobs[0].lastSuccessfulBuild.number).isEqualTo(42);
+    assertThat(view.jobs[0].lastSuccessfulBuild.artifacts[0].relativePath)
+        .isEqualTo("bazel-bin/plugins/foo/foo.jar");
+    assertThat(view.jobs[0].lastSuccessfulBuild.actions[1].lastBuiltRevision.sha1)
+        .isEqualTo("0123456789abcdef");
+    assertThat(view.jobs[1].lastSuccessfulBuild).isNull();
+  }
+
+  @Test
+  public void shouldSkipUnusedBuildFields() throws Exception {
+    Build build =
+        read(
+            JenkinsJsonAdapters.BUILD,
+            "{\"url\": \"https://ci/job/plugin-foo/42/\", \"building\": false,"
+                + " \"changeSet\": {\"items\": [{\"msg\": \"Fix\","
+                + " \"paths\": [{\"file\": \"a\"}]}]},"
+                + " \"culprits\": [], \"artifacts\": []}");
+
+    assertThat(build.url).isEqualTo("https://ci/job/plugin-foo/42/");
+    assertThat(build.artifacts).isEmpty();
+    assertThat(build.actions).isNull();
+  }
+
+  @Test
+  public void shouldDecodeOnlyDescriptionOfPluginDescriptor() throws Exception {
+    assertThat(
+            read(
+                JenkinsJsonAdapters.DESCRIPTION,
+                "{\"name\": \"foo\", \"description\": \"Foo plugin\", \"deps\": [\"bar\"]}"))
+        .isEqualTo("Foo plugin");
+    assertThat(read(JenkinsJsonAdapters.DESCRIPTION, "{\"description\": null}")).isNull();
+  }
+
+  private static <T> T read(TypeAdapter<T> adapter, String json) throws IOException {
+    try (JsonReader reader = new JsonReader(new StringReader(json))) {
+      return adapter.read(reader);
+    }
+  }
+}
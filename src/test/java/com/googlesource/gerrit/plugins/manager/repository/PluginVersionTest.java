@@ -0,0 +1,110 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.manager.repository;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth.assertWithMessage;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import java.util.List;
+import org.junit.Test;
+
+public class PluginVersionTest {
+  private static final ImmutableList<String> VERSIONS =
+      ImmutableList.of(
+          "",
+          "1",
+          "2",
+          "10",
+          "3.9",
+          "3.10",
+          "3.10.0",
+          "3.10.0-rc1",
+          "3.10.0-rc2",
+          "3.10.0-rc10",
+          "3.10.1",
+          "v3.10.0",
+          "v3.10.0-4-g0123abcd",
+          "v3.10.0-12-gdeadbeef",
+          "v3.10.0-12-gcafebabe",
+          "3.10.0.01",
+          "3.10.0.1",
+          "3.10.+1",
+          "3.10.99999999999",
+          "3.10..1");
+
+  @Test
+  public void shouldCompareNumericSegmentsNumerically() {
+    assertLater("3.10", "3.9");
+    assertLater("3.10.1", "3.10.0");
+    assertLater("v3.10.0-12-gdeadbeef", "v3.10.0-4-g0123abcd");
+  }
+
+  @Test
+  public void shouldCompareOtherSegmentsLexicographically() {
+    assertLater("3.10.0-rc2", "3.10.0-rc1");
+    assertLater("v3.10.0-12-gdeadbeef", "v3.10.0-12-gcafebabe");
+  }
+
+  @Test
+  public void shouldConsiderLongerVersionLater() {
+    assertLater("3.10.0-rc1", "3.10.0");
+    assertLater("3.10.0", "3.10");
+  }
+
+  @Test
+  public void shouldTreatMissingVersionAsEmpty() {
+    assertLater("1", null);
+    assertThat(PluginVersion.parse(null).compareTo(PluginVersion.parse(""))).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldOrderAsPreviousStringComparison() {
+    for (String a : VERSIONS) {
+      for (String b : VERSIONS) {
+        assertWithMessage("%s later than %s", a, b)
+            .that(PluginVersion.parse(a).isLaterThan(PluginVersion.parse(b)))
+            .isEqualTo(isLaterVersion(a, b));
+      }
+    }
+  }
+
+  private static void assertLater(String later, String earlier) {
+    assertThat(PluginVersion.parse(later).isLaterThan(PluginVersion.parse(earlier))).isTrue();
+    assertThat(PluginVersion.parse(earlier).isLaterThan(PluginVersion.parse(later))).isFalse();
+  }
+
+  /** Comparison of the versions as it was done before they were parsed. */
+  private static boolean isLaterVersion(String newVersion, String currVersion) {
+    Splitter splitter = Splitter.on(".");
+    List<String> vals1 = splitter.splitToList(newVersion.replaceAll("-", "."));
+    List<String> vals2 = splitter.splitToList(currVersion.replaceAll("-", "."));
+    int i = 0;
+
+    while (i < vals1.size() && i < vals2.size() && vals1.get(i).equals(vals2.get(i))) {
+      i++;
+    }
+
+    if (i < vals1.size() && i < vals2.size()) {
+      try {
+        return Integer.parseInt(vals1.get(i)) - Integer.parseInt(vals2.get(i)) > 0;
+      } catch (NumberFormatException e) {
+        return vals1.get(i).compareTo(vals2.get(i)) > 0;
+      }
+    }
+    return vals1.size() - vals2.size() > 0;
+  }
+}
@@ -48,7 +48,9 @@ public class PluginsRepositoryTest {
   public void corePluginsRepositoryShouldReturnCorePluginsFromReleaseWar() throws IOException {
     SitePaths site = prepareSiteDirWithReleaseWar();
 
-    PluginsRepository pluginRepo = new CorePluginsRepository(site, new CorePluginsDescriptions());
+    PluginsRepository pluginRepo =
+        new CorePluginsRepository(
+            site.gerrit_war, site.gerrit_war.toString(), new CorePluginsDescriptions());
 
     Collection<PluginInfo> plugins = pluginRepo.list(Version.getVersion());
     assertThat(plugins.stream().map(p -> p.name).sorted().collect(toList()))